@@ -23,9 +23,12 @@ import com.example.nasajonintegration.service.IntegrationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -42,24 +45,28 @@ public class IntegrationController {
     }
 
     @PostMapping("/export")
-    @Operation(summary = "Export data to Nasajon", description = "Exports data from the application to Nasajon systems")
-    public ResponseEntity<IntegrationResponse> exportData(@RequestBody ExportRequest request) {
-        IntegrationResponse response = integrationService.exportData(request);
+    @Operation(summary = "Export data to Nasajon", description = "Exports data from the application to Nasajon systems. Repeated requests with the same Idempotency-Key, or the same body without one, return the job already running")
+    public ResponseEntity<IntegrationResponse> exportData(@RequestBody ExportRequest request,
+                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        IntegrationResponse response = integrationService.exportData(request, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/import")
-    @Operation(summary = "Import data from Nasajon", description = "Imports data from Nasajon systems to the application")
-    public ResponseEntity<IntegrationResponse> importData(@RequestBody ImportRequest request) {
-        IntegrationResponse response = integrationService.importData(request);
+    @Operation(summary = "Import data from Nasajon", description = "Imports data from Nasajon systems to the application. Repeated requests with the same Idempotency-Key, or the same body without one, return the job already running")
+    public ResponseEntity<IntegrationResponse> importData(@RequestBody ImportRequest request,
+                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        IntegrationResponse response = integrationService.importData(request, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/import/file")
-    @Operation(summary = "Import data from file", description = "Imports data from a file into the application")
+    @Operation(summary = "Import data from file", description = "Imports data from a file into the application. With validateOnly the records are checked against the rules of entityType and the job result is an error summary; nothing is imported")
     public ResponseEntity<IntegrationResponse> importFromFile(@RequestParam("file") MultipartFile file, 
-                                                             @RequestParam("type") String type) {
-        IntegrationResponse response = integrationService.importFromFile(file, type);
+                                                             @RequestParam("type") String type,
+                                                             @RequestParam(value = "entityType", required = false) String entityType,
+                                                             @RequestParam(value = "validateOnly", defaultValue = "false") boolean validateOnly) {
+        IntegrationResponse response = integrationService.importFromFile(file, type, entityType, validateOnly);
         return ResponseEntity.ok(response);
     }
 
@@ -69,6 +76,33 @@ public class IntegrationController {
         IntegrationResponse response = integrationService.getJobStatus(jobId);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/status/{jobId}/wait")
+    @Operation(summary = "Wait for an integration job status change", description = "Long-polls until the job differs from the given status and progress, or the poll times out")
+    public DeferredResult<IntegrationResponse> awaitJobStatus(@PathVariable String jobId,
+                                                              @RequestParam(value = "status", required = false) String knownStatus,
+                                                              @RequestParam(value = "progress", required = false) Integer knownProgress) {
+        return integrationService.awaitJobStatus(jobId, knownStatus, knownProgress);
+    }
+
+    @GetMapping(value = "/status/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream integration job status", description = "Pushes status and progress changes of a job as Server-Sent Events")
+    public SseEmitter streamJobStatus(@PathVariable String jobId) {
+        return integrationService.streamJobStatus(List.of(jobId));
+    }
+
+    @GetMapping(value = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream status of several integration jobs", description = "Pushes status and progress changes of the given jobs as Server-Sent Events")
+    public SseEmitter streamJobStatuses(@RequestParam("jobId") List<String> jobIds) {
+        return integrationService.streamJobStatus(jobIds);
+    }
+
+    @PostMapping("/retry/{jobId}")
+    @Operation(summary = "Retry a failed integration job", description = "Resubmits a failed job without requiring the client to upload its data again")
+    public ResponseEntity<IntegrationResponse> retryJob(@PathVariable String jobId) {
+        IntegrationResponse response = integrationService.retryJob(jobId);
+        return ResponseEntity.ok(response);
+    }
 }
 [V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/IntegrationService.java"
 package com.example.nasajonintegration.service;
@@ -76,840 +110,7520 @@ package com.example.nasajonintegration.service;
 import com.example.nasajonintegration.dto.ExportRequest;
 import com.example.nasajonintegration.dto.ImportRequest;
 import com.example.nasajonintegration.dto.IntegrationResponse;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 public interface IntegrationService {
-    IntegrationResponse exportData(ExportRequest request);
-    IntegrationResponse importData(ImportRequest request);
-    IntegrationResponse importFromFile(MultipartFile file, String type);
+    IntegrationResponse exportData(ExportRequest request, String idempotencyKey);
+    IntegrationResponse importData(ImportRequest request, String idempotencyKey);
+    IntegrationResponse importFromFile(MultipartFile file, String type, String entityType, boolean validateOnly);
     IntegrationResponse getJobStatus(String jobId);
+    DeferredResult<IntegrationResponse> awaitJobStatus(String jobId, String knownStatus, Integer knownProgress);
+    SseEmitter streamJobStatus(List<String> jobIds);
+    IntegrationResponse retryJob(String jobId);
 }
 [V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/IntegrationServiceImpl.java"
 package com.example.nasajonintegration.service.impl;
 
+import com.example.nasajonintegration.config.FileUploadConfig;
+import com.example.nasajonintegration.config.ResilienceConfig;
 import com.example.nasajonintegration.dto.ExportRequest;
+import com.example.nasajonintegration.dto.FileImportRequest;
 import com.example.nasajonintegration.dto.ImportRequest;
 import com.example.nasajonintegration.dto.IntegrationResponse;
+import com.example.nasajonintegration.exception.CircuitOpenException;
 import com.example.nasajonintegration.exception.IntegrationException;
 import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.model.JobClass;
 import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.model.JobStatusView;
+import com.example.nasajonintegration.parser.RecordReader;
+import com.example.nasajonintegration.parser.RecordReaderRegistry;
+import com.example.nasajonintegration.repository.IntegrationJobPayloadRepository;
 import com.example.nasajonintegration.repository.IntegrationJobRepository;
 import com.example.nasajonintegration.service.IntegrationService;
+import com.example.nasajonintegration.service.JobDeduplicator;
+import com.example.nasajonintegration.service.JobHandler;
+import com.example.nasajonintegration.service.JobStatusCache;
+import com.example.nasajonintegration.service.JobStatusJournal;
+import com.example.nasajonintegration.service.JobStatusNotifier;
 import com.example.nasajonintegration.service.NasajonApiClient;
+import com.example.nasajonintegration.service.QueueBacklogMonitor;
+import com.example.nasajonintegration.storage.FileStagingStore;
+import com.example.nasajonintegration.storage.StagedFile;
+import com.example.nasajonintegration.validation.RecordValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
-public class IntegrationServiceImpl implements IntegrationService {
+public class IntegrationServiceImpl implements IntegrationService, JobHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(IntegrationServiceImpl.class);
 
     private final IntegrationJobRepository jobRepository;
+    private final IntegrationJobPayloadRepository payloadRepository;
     private final NasajonApiClient nasajonApiClient;
+    private final JobStatusJournal statusJournal;
+    private final JobStatusCache statusCache;
+    private final JobStatusNotifier statusNotifier;
+    private final QueueBacklogMonitor backlogMonitor;
+    private final JobDeduplicator deduplicator;
+    private final FileStagingStore stagingStore;
+    private final ChunkedFileUploader chunkedFileUploader;
+    private final ExportBatchEngine exportBatchEngine;
+    private final ExportCoalescer exportCoalescer;
+    private final ImportWatermarkTracker watermarkTracker;
+    private final StreamingImporter streamingImporter;
+    private final RecordReaderRegistry recordReaders;
+    private final RecordValidator recordValidator;
+    private final ResilienceConfig resilienceConfig;
+    private final FileUploadConfig uploadConfig;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public IntegrationServiceImpl(IntegrationJobRepository jobRepository, NasajonApiClient nasajonApiClient) {
+    public IntegrationServiceImpl(IntegrationJobRepository jobRepository,
+                                  IntegrationJobPayloadRepository payloadRepository, NasajonApiClient nasajonApiClient,
+                                  JobStatusJournal statusJournal, JobStatusCache statusCache,
+                                  JobStatusNotifier statusNotifier, QueueBacklogMonitor backlogMonitor,
+                                  JobDeduplicator deduplicator, FileStagingStore stagingStore,
+                                  ChunkedFileUploader chunkedFileUploader, ExportBatchEngine exportBatchEngine,
+                                  ExportCoalescer exportCoalescer, ImportWatermarkTracker watermarkTracker,
+                                  StreamingImporter streamingImporter, RecordReaderRegistry recordReaders,
+                                  RecordValidator recordValidator, ResilienceConfig resilienceConfig,
+                                  FileUploadConfig uploadConfig, ObjectMapper objectMapper) {
         this.jobRepository = jobRepository;
+        this.payloadRepository = payloadRepository;
         this.nasajonApiClient = nasajonApiClient;
+        this.statusJournal = statusJournal;
+        this.statusCache = statusCache;
+        this.statusNotifier = statusNotifier;
+        this.backlogMonitor = backlogMonitor;
+        this.deduplicator = deduplicator;
+        this.stagingStore = stagingStore;
+        this.chunkedFileUploader = chunkedFileUploader;
+        this.exportBatchEngine = exportBatchEngine;
+        this.exportCoalescer = exportCoalescer;
+        this.watermarkTracker = watermarkTracker;
+        this.streamingImporter = streamingImporter;
+        this.recordReaders = recordReaders;
+        this.recordValidator = recordValidator;
+        this.resilienceConfig = resilienceConfig;
+        this.uploadConfig = uploadConfig;
+        this.objectMapper = objectMapper;
     }
 
     @Override
-    public IntegrationResponse exportData(ExportRequest request) {
+    public IntegrationResponse exportData(ExportRequest request, String idempotencyKey) {
         logger.info("Starting export process for request: {}", request);
+        String key = deduplicator.fingerprint("EXPORT", idempotencyKey, request);
+        Optional<IntegrationResponse> existing = findDuplicate(key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        backlogMonitor.checkCapacity();
         
         // Create and save job
         String jobId = UUID.randomUUID().toString();
         IntegrationJob job = new IntegrationJob();
         job.setJobId(jobId);
         job.setType("EXPORT");
+        job.setEntityType(request.getEntityType());
+        // Exports large enough to be split into batches must not hold up interactive ones
+        job.setJobClass(exportBatchEngine.supports(request) ? JobClass.BULK : JobClass.INTERACTIVE);
         job.setStatus(JobStatus.PENDING);
         job.setCreatedAt(LocalDateTime.now());
-        job.setRequestData(request.toString());
-        jobRepository.save(job);
+        job.setIdempotencyKey(key);
+        job.setRequestData(toJson(request));
         
-        // Process asynchronously
-        processExportAsync(jobId, request);
-        
-        return new IntegrationResponse(jobId, JobStatus.PENDING.name(), "Export job created successfully");
+        return createDeduplicated(job, "Export job created successfully");
     }
 
     @Override
-    public IntegrationResponse importData(ImportRequest request) {
+    public IntegrationResponse importData(ImportRequest request, String idempotencyKey) {
         logger.info("Starting import process for request: {}", request);
+        String key = deduplicator.fingerprint("IMPORT", idempotencyKey, request);
+        Optional<IntegrationResponse> existing = findDuplicate(key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        backlogMonitor.checkCapacity();
         
         // Create and save job
         String jobId = UUID.randomUUID().toString();
         IntegrationJob job = new IntegrationJob();
         job.setJobId(jobId);
         job.setType("IMPORT");
+        job.setEntityType(request.getEntityType());
+        job.setJobClass(JobClass.INTERACTIVE);
         job.setStatus(JobStatus.PENDING);
         job.setCreatedAt(LocalDateTime.now());
-        job.setRequestData(request.toString());
-        jobRepository.save(job);
+        job.setIdempotencyKey(key);
+        job.setRequestData(toJson(request));
         
-        // Process asynchronously
-        processImportAsync(jobId, request);
-        
-        return new IntegrationResponse(jobId, JobStatus.PENDING.name(), "Import job created successfully");
+        return createDeduplicated(job, "Import job created successfully");
     }
 
     @Override
-    public IntegrationResponse importFromFile(MultipartFile file, String type) {
-        logger.info("Starting file import process for file: {}, type: {}", file.getOriginalFilename(), type);
+    public IntegrationResponse importFromFile(MultipartFile file, String type, String entityType, boolean validateOnly) {
+        logger.info("Starting file import process for file: {}, type: {}, entityType: {}, validateOnly: {}",
+                file.getOriginalFilename(), type, entityType, validateOnly);
         
         if (file.isEmpty()) {
             throw new IntegrationException("File is empty");
         }
+        if (validateOnly && recordReaders.forType(type).isEmpty()) {
+            throw new IntegrationException("Validation is not supported for " + type + " files");
+        }
+        // Checked before staging so a full backlog does not also fill the staging disk
+        backlogMonitor.checkCapacity();
+        
+        // Copy the upload into the staging area before the container discards its temp file
+        StagedFile stagedFile = stagingStore.stage(file);
+        FileImportRequest request = new FileImportRequest(
+                file.getOriginalFilename(), file.getContentType(), type, stagedFile.getKey(), stagedFile.getSize());
+        request.setEntityType(entityType);
+        request.setValidateOnly(validateOnly);
         
         // Create and save job
         String jobId = UUID.randomUUID().toString();
         IntegrationJob job = new IntegrationJob();
         job.setJobId(jobId);
         job.setType("FILE_IMPORT");
+        job.setEntityType(entityType);
+        job.setJobClass(JobClass.BULK);
         job.setStatus(JobStatus.PENDING);
         job.setCreatedAt(LocalDateTime.now());
-        job.setRequestData("File: " + file.getOriginalFilename() + ", Type: " + type);
-        jobRepository.save(job);
-        
-        // Process asynchronously
-        processFileImportAsync(jobId, file, type);
+        job.setStagingKey(stagedFile.getKey());
+        job.setStagingNode(stagingStore.ownerNode());
+        job.setRequestData(toJson(request));
+        // Persisted as PENDING; a queue worker on any node leases and runs it
+        statusJournal.create(job);
         
-        return new IntegrationResponse(jobId, JobStatus.PENDING.name(), "File import job created successfully");
+        return new IntegrationResponse(jobId, JobStatus.PENDING.name(),
+                validateOnly ? "File validation job created successfully" : "File import job created successfully");
     }
 
     @Override
     public IntegrationResponse getJobStatus(String jobId) {
-        logger.info("Getting status for job: {}", jobId);
+        logger.debug("Getting status for job: {}", jobId);
         
-        IntegrationJob job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IntegrationException("Job not found with ID: " + jobId));
+        return IntegrationResponse.from(findStatus(jobId));
+    }
+
+    @Override
+    public DeferredResult<IntegrationResponse> awaitJobStatus(String jobId, String knownStatus, Integer knownProgress) {
+        // Resolve the job first so unknown IDs fail fast instead of waiting for the timeout
+        findStatus(jobId);
         
-        return new IntegrationResponse(
-                job.getJobId(),
-                job.getStatus().name(),
-                job.getResultMessage(),
-                job.getCompletedAt() != null ? job.getCompletedAt().toString() : null
-        );
+        return statusNotifier.awaitChange(jobId, () -> findStatus(jobId), parseStatus(knownStatus), knownProgress);
     }
 
-    @Async
-    protected CompletableFuture<Void> processExportAsync(String jobId, ExportRequest request) {
-        IntegrationJob job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IntegrationException("Job not found with ID: " + jobId));
+    @Override
+    public SseEmitter streamJobStatus(List<String> jobIds) {
+        List<String> distinctIds = jobIds.stream().distinct().toList();
+        distinctIds.forEach(this::findStatus);
         
-        try {
-            logger.info("Processing export job: {}", jobId);
-            job.setStatus(JobStatus.PROCESSING);
-            jobRepository.save(job);
+        return statusNotifier.stream(distinctIds, this::findStatus);
+    }
+
+    @Override
+    public IntegrationResponse retryJob(String jobId) {
+        logger.info("Retrying job: {}", jobId);
+        
+        IntegrationJob job = findJob(jobId);
+        
+        if (job.getStatus() != JobStatus.FAILED && job.getStatus() != JobStatus.CANCELLED) {
+            throw new IntegrationException("Only failed or cancelled jobs can be retried, job is " + job.getStatus());
+        }
+        if (job.getRequestData() == null) {
+            throw new IntegrationException("Job " + jobId + " has no stored request and cannot be retried");
+        }
+        // A file staged on another node's disk can only be checked there; that node fails the job if it is gone
+        if ("FILE_IMPORT".equals(job.getType()) && (job.getStagingKey() == null
+                || (stagingStore.isReadable(job.getStagingNode()) && !stagingStore.contains(job.getStagingKey())))) {
+            throw new IntegrationException("Staged file for job " + jobId + " is no longer available, please upload it again");
+        }
+        
+        backlogMonitor.checkCapacity();
+        if (!statusJournal.requeue(job)) {
+            throw new IntegrationException("Job " + jobId + " has already been resubmitted");
+        }
+        
+        // Chunked uploads keep their upload ID and acknowledged parts, so they resume where they stopped
+        return new IntegrationResponse(jobId, JobStatus.PENDING.name(), "Job resubmitted");
+    }
+
+    @Override
+    public CompletableFuture<Void> handle(IntegrationJob job) {
+        return switch (job.getType()) {
+            case "EXPORT" -> processExport(job);
+            case "IMPORT" -> processImport(job);
+            case "FILE_IMPORT" -> processFileImport(job);
+            default -> runJob(job, "Job", () -> {
+                throw new IntegrationException("Unsupported job type: " + job.getType());
+            });
+        };
+    }
+
+    private CompletableFuture<Void> processExport(IntegrationJob job) {
+        return runJob(job, "Export", () -> {
+            ExportRequest request = fromJson(job.getRequestData(), ExportRequest.class);
+            if (exportBatchEngine.supports(request)) {
+                return exportBatchEngine.export(job, request);
+            }
+            return exportCoalescer.export(request);
+        });
+    }
+
+    private CompletableFuture<Void> processImport(IntegrationJob job) {
+        return runJob(job, "Import", () -> {
+            ImportRequest request = fromJson(job.getRequestData(), ImportRequest.class);
+            if (request.isIncremental()) {
+                // Resolved when the job runs, so time spent queued is covered by this window
+                watermarkTracker.applyWindow(request, job.getStartedAt());
+                Map<String, Object> window = new LinkedHashMap<>();
+                window.put("fromDate", request.getFromDate());
+                window.put("toDate", request.getToDate());
+                job.setResultData(toJson(window));
+            }
             
-            // Call Nasajon API to export data
-            boolean success = nasajonApiClient.exportData(request);
+            // Dry runs are validated locally when records are streamed; otherwise the flag is left to Nasajon
+            CompletableFuture<Boolean> result = streamingImporter.isEnabled()
+                    ? CompletableFuture.completedFuture(streamRecords(job, request))
+                    : nasajonApiClient.importDataAsync(request);
+            if (!request.isIncremental() || request.isValidateOnly()) {
+                return result;
+            }
             
-            if (success) {
-                job.setStatus(JobStatus.COMPLETED);
-                job.setResultMessage("Export completed successfully");
-            } else {
-                job.setStatus(JobStatus.FAILED);
-                job.setResultMessage("Export failed");
+            return result.thenApply(success -> {
+                if (Boolean.TRUE.equals(success)) {
+                    watermarkTracker.advance(request, job.getJobId());
+                }
+                return success;
+            });
+        });
+    }
+
+    private boolean streamRecords(IntegrationJob job, ImportRequest request) {
+        // The summary includes the window, so it replaces the one recorded above
+        job.setResultData(toJson(streamingImporter.importRecords(job, request)));
+        return true;
+    }
+
+    private CompletableFuture<Void> processFileImport(IntegrationJob job) {
+        return runJob(job, "File import", () -> {
+            FileImportRequest request = fromJson(job.getRequestData(), FileImportRequest.class);
+            if (request.isValidateOnly()) {
+                // Dry run: the validation summary is the result and nothing is sent upstream
+                validateRecords(job, request);
+                return CompletableFuture.completedFuture(true);
             }
             
-        } catch (Exception e) {
-            logger.error("Error processing export job: {}", jobId, e);
-            job.setStatus(JobStatus.FAILED);
-            job.setResultMessage("Export failed: " + e.getMessage());
+            // Optionally reject malformed files locally, at the cost of parsing the whole file before the upload
+            if (uploadConfig.isPreScan()) {
+                scanRecords(job, request);
+            }
+            
+            if (chunkedFileUploader.supports(request)) {
+                return CompletableFuture.completedFuture(
+                        chunkedFileUploader.upload(job, request, stagingStore.resolve(request.getStagingKey())));
+            }
+            return nasajonApiClient.importFromFileAsync(request, stagingStore.resource(request.getStagingKey()));
+        });
+    }
+
+    private void scanRecords(IntegrationJob job, FileImportRequest request) {
+        Optional<RecordReader> reader = recordReaders.forType(request.getType());
+        if (reader.isEmpty()) {
+            return;
         }
         
-        job.setCompletedAt(LocalDateTime.now());
-        jobRepository.save(job);
+        try (InputStream input = Files.newInputStream(stagingStore.resolve(request.getStagingKey()));
+             Stream<Map<String, Object>> records = reader.get().read(input)) {
+            long count = records.count();
+            logger.info("File for job {} contains {} {} records", job.getJobId(), count, request.getType());
+            job.setResultData(toJson(Map.of("records", count)));
+        } catch (IOException | UncheckedIOException | RuntimeJsonMappingException e) {
+            throw new IntegrationException("Failed to read " + request.getType() + " file: " + e.getMessage(), e);
+        }
+    }
+
+    private void validateRecords(IntegrationJob job, FileImportRequest request) {
+        RecordReader reader = recordReaders.forType(request.getType())
+                .orElseThrow(() -> new IntegrationException("Validation is not supported for " + request.getType() + " files"));
         
-        return CompletableFuture.completedFuture(null);
+        try (InputStream input = Files.newInputStream(stagingStore.resolve(request.getStagingKey()));
+             Stream<Map<String, Object>> records = reader.read(input)) {
+            Map<String, Object> summary = recordValidator.validate(request.getEntityType(), records);
+            logger.info("Validated file for job {}: {} {} records, {} invalid", job.getJobId(),
+                    summary.get("records"), request.getType(), summary.get("invalidRecords"));
+            job.setResultData(toJson(summary));
+        } catch (IOException | UncheckedIOException | RuntimeJsonMappingException e) {
+            throw new IntegrationException("Failed to read " + request.getType() + " file: " + e.getMessage(), e);
+        }
     }
 
-    @Async
-    protected CompletableFuture<Void> processImportAsync(String jobId, ImportRequest request) {
-        IntegrationJob job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IntegrationException("Job not found with ID: " + jobId));
+    private CompletableFuture<Void> runJob(IntegrationJob job, String operation,
+                                           Supplier<CompletableFuture<Boolean>> upstreamCall) {
+        CompletableFuture<Boolean> result;
         
         try {
-            logger.info("Processing import job: {}", jobId);
+            logger.info("Processing {} job: {}", operation.toLowerCase(), job.getJobId());
+            LocalDateTime now = LocalDateTime.now();
             job.setStatus(JobStatus.PROCESSING);
-            jobRepository.save(job);
-            
-            // Call Nasajon API to import data
-            boolean success = nasajonApiClient.importData(request);
-            
-            if (success) {
-                job.setStatus(JobStatus.COMPLETED);
-                job.setResultMessage("Import completed successfully");
-            } else {
-                job.setStatus(JobStatus.FAILED);
-                job.setResultMessage("Import failed");
-            }
+            job.setStartedAt(now);
+            job.setHeartbeatAt(now);
+            statusJournal.record(job);
             
+            // With a non-blocking client the worker thread is released while the call is in flight
+            result = upstreamCall.get();
         } catch (Exception e) {
-            logger.error("Error processing import job: {}", jobId, e);
+            result = CompletableFuture.failedFuture(e);
+        }
+        
+        return result.handle((success, error) -> {
+            completeJob(job, operation, success, error);
+            return null;
+        });
+    }
+
+    private void completeJob(IntegrationJob job, String operation, Boolean success, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CircuitOpenException circuitOpen && deferJob(job, operation, circuitOpen)) {
+                return;
+            }
+            logger.error("Error processing {} job: {}", operation.toLowerCase(), job.getJobId(), cause);
             job.setStatus(JobStatus.FAILED);
-            job.setResultMessage("Import failed: " + e.getMessage());
+            job.setResultMessage(operation + " failed: " + cause.getMessage());
+        } else if (Boolean.TRUE.equals(success)) {
+            job.setStatus(JobStatus.COMPLETED);
+            job.setResultMessage(operation + " completed successfully");
+        } else {
+            job.setStatus(JobStatus.FAILED);
+            job.setResultMessage(operation + " failed");
         }
         
         job.setCompletedAt(LocalDateTime.now());
-        jobRepository.save(job);
-        
-        return CompletableFuture.completedFuture(null);
+        statusJournal.record(job);
     }
 
-    @Async
-    protected CompletableFuture<Void> processFileImportAsync(String jobId, MultipartFile file, String type) {
-        IntegrationJob job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IntegrationException("Job not found with ID: " + jobId));
+    private boolean deferJob(IntegrationJob job, String operation, CircuitOpenException circuitOpen) {
+        // Nasajon is down: hand the job back to the queue for when the circuit half-opens instead of failing it
+        int retries = job.getRetryCount() != null ? job.getRetryCount() : 0;
+        if (retries >= resilienceConfig.getMaxJobDeferrals()) {
+            return false;
+        }
         
+        LocalDateTime notBefore = LocalDateTime.now().plus(circuitOpen.getRetryAfter());
+        if (!statusJournal.defer(job, notBefore, operation + " waiting for Nasajon: " + circuitOpen.getMessage())) {
+            return false;
+        }
+        logger.warn("Deferred {} job {} until {} (retry {}): {}", operation.toLowerCase(), job.getJobId(), notBefore,
+                job.getRetryCount(), circuitOpen.getMessage());
+        return true;
+    }
+
+    private IntegrationResponse createDeduplicated(IntegrationJob job, String message) {
         try {
-            logger.info("Processing file import job: {}", jobId);
-            job.setStatus(JobStatus.PROCESSING);
-            jobRepository.save(job);
-            
-            // Process file based on type
-            boolean success = nasajonApiClient.importFromFile(file, type);
-            
-            if (success) {
-                job.setStatus(JobStatus.COMPLETED);
-                job.setResultMessage("File import completed successfully");
-            } else {
-                job.setStatus(JobStatus.FAILED);
-                job.setResultMessage("File import failed");
-            }
-            
-        } catch (Exception e) {
-            logger.error("Error processing file import job: {}", jobId, e);
-            job.setStatus(JobStatus.FAILED);
-            job.setResultMessage("File import failed: " + e.getMessage());
+            // Persisted as PENDING; a queue worker on any node leases and runs it
+            statusJournal.create(job);
+        } catch (DuplicateKeyException e) {
+            // A concurrent identical submission, possibly on another node, inserted first
+            return findDuplicate(job.getIdempotencyKey()).orElseThrow(() -> new IntegrationException(
+                    "An identical " + job.getType().toLowerCase() + " job is being submitted, please retry"));
         }
+        deduplicator.register(job.getIdempotencyKey(), job.getJobId());
         
-        job.setCompletedAt(LocalDateTime.now());
-        jobRepository.save(job);
+        return new IntegrationResponse(job.getJobId(), JobStatus.PENDING.name(), message);
+    }
+
+    private Optional<IntegrationResponse> findDuplicate(String key) {
+        Optional<String> jobId = deduplicator.findJobId(key);
+        if (jobId.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        Optional<JobStatusView> view = statusJournal.findPending(jobId.get())
+                .map(JobStatusView::from)
+                .or(() -> jobRepository.findStatusViewById(jobId.get()));
+        if (view.isPresent() && deduplicator.isReusable(view.get())) {
+            logger.info("Returning existing job {} for duplicate submission", jobId.get());
+            IntegrationResponse response = IntegrationResponse.from(view.get());
+            response.setMessage("Identical job already submitted");
+            return Optional.of(response);
+        }
         
-        return CompletableFuture.completedFuture(null);
+        // Failed, cancelled, expired or purged: free the key so this request runs again
+        deduplicator.release(key, jobId.get());
+        return Optional.empty();
+    }
+
+    private JobStatusView findStatus(String jobId) {
+        // Cache misses read only the status columns, never the payloads
+        return statusCache.get(jobId, id -> statusJournal.findPending(id)
+                .map(JobStatusView::from)
+                .or(() -> jobRepository.findStatusViewById(id))
+                .orElseThrow(() -> new IntegrationException("Job not found with ID: " + id)));
+    }
+
+    private JobStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return JobStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IntegrationException("Unknown job status: " + status);
+        }
+    }
+
+    private IntegrationJob findJob(String jobId) {
+        // Transitions that have not been flushed yet are newer than the database row
+        return statusJournal.findPending(jobId)
+                .or(() -> jobRepository.findById(jobId).map(this::withPayload))
+                .orElseThrow(() -> new IntegrationException("Job not found with ID: " + jobId));
+    }
+
+    private IntegrationJob withPayload(IntegrationJob job) {
+        payloadRepository.findById(job.getJobId()).ifPresent(payload -> {
+            job.setRequestData(payload.getRequestData());
+            job.setResultData(payload.getResultData());
+        });
+        return job;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IntegrationException("Failed to serialize job request: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IntegrationException("Failed to read job request: " + e.getMessage(), e);
+        }
     }
 }
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/NasajonApiClient.java"
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobHandler.java"
 package com.example.nasajonintegration.service;
 
-import com.example.nasajonintegration.dto.ExportRequest;
-import com.example.nasajonintegration.dto.ImportRequest;
-import org.springframework.web.multipart.MultipartFile;
+import com.example.nasajonintegration.model.IntegrationJob;
 
-public interface NasajonApiClient {
-    boolean exportData(ExportRequest request);
-    boolean importData(ImportRequest request);
-    boolean importFromFile(MultipartFile file, String type);
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Executes a job leased from the queue; the returned future completes once the job has
+ * reached a terminal status.
+ */
+public interface JobHandler {
+    CompletableFuture<Void> handle(IntegrationJob job);
 }
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/NasajonApiClientImpl.java"
-package com.example.nasajonintegration.service.impl;
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobDispatcher.java"
+package com.example.nasajonintegration.service;
 
-import com.example.nasajonintegration.config.NasajonApiConfig;
-import com.example.nasajonintegration.dto.ExportRequest;
-import com.example.nasajonintegration.dto.ImportRequest;
-import com.example.nasajonintegration.exception.IntegrationException;
-import com.example.nasajonintegration.service.NasajonApiClient;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.nasajonintegration.model.IntegrationJob;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
-import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
-@Service
-public class NasajonApiClientImpl implements NasajonApiClient {
+/**
+ * Runs leased integration jobs on the worker pool.
+ */
+@Component
+public class JobDispatcher {
 
-    private static final Logger logger = LoggerFactory.getLogger(NasajonApiClientImpl.class);
+    private static final Logger logger = LoggerFactory.getLogger(JobDispatcher.class);
 
-    private final RestTemplate restTemplate;
-    private final NasajonApiConfig apiConfig;
-    private final ObjectMapper objectMapper;
+    private final Executor taskExecutor;
 
     @Autowired
-    public NasajonApiClientImpl(RestTemplate restTemplate, NasajonApiConfig apiConfig, ObjectMapper objectMapper) {
-        this.restTemplate = restTemplate;
-        this.apiConfig = apiConfig;
-        this.objectMapper = objectMapper;
+    public JobDispatcher(@Qualifier("taskExecutor") Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
     }
 
-    @Override
-    public boolean exportData(ExportRequest request) {
+    /**
+     * Returns false when the worker pool is saturated; the job is left untouched so the
+     * caller can hand it back to the queue.
+     */
+    public boolean dispatch(IntegrationJob job, JobTask task) {
         try {
-            logger.info("Calling Nasajon API to export data: {}", request);
-            
-            HttpHeaders headers = createAuthHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<ExportRequest> entity = new HttpEntity<>(request, headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiConfig.getBaseUrl() + "/export",
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
-            
-            logger.info("Export API response: {}", response.getStatusCode());
-            return response.getStatusCode().is2xxSuccessful();
-            
-        } catch (Exception e) {
-            logger.error("Error calling Nasajon export API", e);
-            throw new IntegrationException("Failed to export data to Nasajon: " + e.getMessage());
+            taskExecutor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Worker queue is full, rejecting job: {}", job.getJobId());
+            return false;
         }
+        
+        logger.debug("Dispatched job: {}", job.getJobId());
+        return true;
     }
 
-    @Override
-    public boolean importData(ImportRequest request) {
+    private void run(IntegrationJob job, JobTask task) {
         try {
-            logger.info("Calling Nasajon API to import data: {}", request);
-            
-            HttpHeaders headers = createAuthHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            HttpEntity<ImportRequest> entity = new HttpEntity<>(request, headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiConfig.getBaseUrl() + "/import",
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
-            
-            logger.info("Import API response: {}", response.getStatusCode());
-            return response.getStatusCode().is2xxSuccessful();
-            
+            task.execute(job).whenComplete((result, error) -> {
+                if (error != null) {
+                    logger.error("Unhandled error in job: {}", job.getJobId(), error);
+                }
+            });
         } catch (Exception e) {
-            logger.error("Error calling Nasajon import API", e);
-            throw new IntegrationException("Failed to import data from Nasajon: " + e.getMessage());
+            logger.error("Unhandled error in job: {}", job.getJobId(), e);
         }
     }
 
-    @Override
-    public boolean importFromFile(MultipartFile file, String type) {
-        try {
-            logger.info("Calling Nasajon API to import from file: {}, type: {}", file.getOriginalFilename(), type);
-            
-            HttpHeaders headers = createAuthHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", createFileResource(file));
-            body.add("type", type);
-            
-            HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
-            
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiConfig.getBaseUrl() + "/import/file",
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
-            
-            logger.info("File import API response: {}", response.getStatusCode());
-            return response.getStatusCode().is2xxSuccessful();
-            
-        } catch (Exception e) {
-            logger.error("Error calling Nasajon file import API", e);
-            throw new IntegrationException("Failed to import file to Nasajon: " + e.getMessage());
-        }
+    @FunctionalInterface
+    public interface JobTask {
+        CompletableFuture<Void> execute(IntegrationJob job);
     }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobQueue.java"
+package com.example.nasajonintegration.service;
 
-    private HttpHeaders createAuthHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + apiConfig.getApiKey());
-        headers.set("X-Client-Id", apiConfig.getClientId());
-        return headers;
-    }
+import com.example.nasajonintegration.config.QueueConfig;
+import com.example.nasajonintegration.config.StagingConfig;
+import com.example.nasajonintegration.event.JobStatusChangedEvent;
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.model.JobClass;
+import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.repository.IntegrationJobJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
 
-    private HttpEntity<byte[]> createFileResource(MultipartFile file) throws IOException {
-        HttpHeaders fileHeaders = new HttpHeaders();
-        fileHeaders.setContentType(MediaType.parseMediaType(file.getContentType()));
-        fileHeaders.setContentDispositionFormData("file", file.getOriginalFilename());
-        return new HttpEntity<>(file.getBytes(), fileHeaders);
-    }
-}
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/NasajonApiConfig.java"
-package com.example.nasajonintegration.config;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Database-backed job queue shared by every node. PENDING rows in {@code integration_jobs}
+ * are the queue: each node leases, per scheduling class, as many as its {@link JobScheduler}
+ * has room for with {@code FOR UPDATE SKIP LOCKED}, so pollers never block each other and
+ * adding nodes adds throughput. Leases are extended by {@link JobHeartbeat} while the job is
+ * held; if a node dies before starting a leased job the lease expires and another node
+ * picks it up. File imports staged on a node-local disk wait for the node that staged them.
+ */
+@Component
+public class JobQueue {
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Configuration;
+    private static final Logger logger = LoggerFactory.getLogger(JobQueue.class);
 
-@Configuration
-public class NasajonApiConfig {
+    private final IntegrationJobJdbcRepository jdbcRepository;
+    private final JobScheduler jobScheduler;
+    private final JobHeartbeat heartbeat;
+    private final QueueConfig queueConfig;
+    private final StagingConfig stagingConfig;
+    private final TaskScheduler taskScheduler;
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+    private final ReentrantLock pollLock = new ReentrantLock();
 
-    @Value("${nasajon.api.base-url}")
-    private String baseUrl;
+    @Autowired
+    public JobQueue(IntegrationJobJdbcRepository jdbcRepository, JobScheduler jobScheduler, JobHeartbeat heartbeat,
+                    QueueConfig queueConfig, StagingConfig stagingConfig, TaskScheduler taskScheduler) {
+        this.jdbcRepository = jdbcRepository;
+        this.jobScheduler = jobScheduler;
+        this.heartbeat = heartbeat;
+        this.queueConfig = queueConfig;
+        this.stagingConfig = stagingConfig;
+        this.taskScheduler = taskScheduler;
+    }
 
-    @Value("${nasajon.api.api-key}")
-    private String apiKey;
+    @Scheduled(fixedDelayString = "${integration.queue.poll-interval:1000}")
+    public void poll() {
+        wakeUpScheduled.set(false);
+        if (!pollLock.tryLock()) {
+            return;
+        }
+        
+        try {
+            for (JobClass jobClass : JobClass.values()) {
+                int capacity = jobScheduler.freeSlots(jobClass);
+                if (capacity <= 0) {
+                    continue;
+                }
+                
+                LocalDateTime now = LocalDateTime.now();
+                List<IntegrationJob> jobs = jdbcRepository.lease(queueConfig.getNodeId(), stagingConfig.getNode(), jobClass,
+                        now, now.plus(queueConfig.getLeaseDuration()), capacity);
+                if (!jobs.isEmpty()) {
+                    logger.debug("Leased {} {} jobs", jobs.size(), jobClass);
+                }
+                jobs.forEach(this::start);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to lease jobs: {}", e.getMessage());
+        } finally {
+            pollLock.unlock();
+        }
+    }
 
-    @Value("${nasajon.api.client-id}")
-    private String clientId;
+    @EventListener
+    public void onStatusChanged(JobStatusChangedEvent event) {
+        // New and requeued jobs are picked up right away instead of on the next poll
+        if (event.getView().getStatus() == JobStatus.PENDING) {
+            wakeUp();
+        }
+    }
 
-    @Value("${nasajon.api.timeout:30000}")
-    private int timeout;
+    private void start(IntegrationJob job) {
+        heartbeat.start(job.getJobId());
+        jobScheduler.submit(job, this::finished);
+    }
 
-    public String getBaseUrl() {
-        return baseUrl;
+    private void finished(IntegrationJob job) {
+        heartbeat.stop(job.getJobId());
+        wakeUp();
     }
 
-    public String getApiKey() {
-        return apiKey;
+    private void wakeUp() {
+        if (wakeUpScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::poll, Instant.now());
+        }
     }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobScheduler.java"
+package com.example.nasajonintegration.service;
 
-    public String getClientId() {
-        return clientId;
+import com.example.nasajonintegration.config.SchedulerConfig;
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.model.JobClass;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sits between the queue and the worker pool. Each {@link JobClass} has its own
+ * concurrency cap, so long bulk imports can never occupy the workers interactive jobs
+ * need, and classes are served in priority order whenever a worker frees up. Within a
+ * class, jobs are grouped into flows by entity type and served by weighted round-robin,
+ * so one busy entity type cannot starve the others.
+ *
+ * <p>Per class, {@code integration.scheduler.queue.depth}, {@code integration.scheduler.running}
+ * and the {@code integration.scheduler.wait} timer (with p50/p99) are published.
+ */
+@Component
+public class JobScheduler {
+
+    private final JobDispatcher jobDispatcher;
+    private final JobHandler jobHandler;
+    private final SchedulerConfig schedulerConfig;
+    private final Map<JobClass, ClassQueue> queues = new EnumMap<>(JobClass.class);
+
+    @Autowired
+    public JobScheduler(JobDispatcher jobDispatcher, JobHandler jobHandler, SchedulerConfig schedulerConfig,
+                        MeterRegistry meterRegistry) {
+        this.jobDispatcher = jobDispatcher;
+        this.jobHandler = jobHandler;
+        this.schedulerConfig = schedulerConfig;
+        
+        for (JobClass jobClass : JobClass.values()) {
+            String tag = jobClass.name().toLowerCase();
+            Timer waitTimer = Timer.builder("integration.scheduler.wait")
+                    .description("Time leased jobs wait for a worker")
+                    .tag("class", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            ClassQueue queue = new ClassQueue(waitTimer);
+            queues.put(jobClass, queue);
+            
+            Gauge.builder("integration.scheduler.queue.depth", this, scheduler -> scheduler.queued(jobClass))
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("integration.scheduler.running", this, scheduler -> scheduler.running(jobClass))
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
     }
 
-    public int getTimeout() {
-        return timeout;
+    /**
+     * How many more jobs of the class this node can take: free workers plus room in the
+     * local queue.
+     */
+    public synchronized int freeSlots(JobClass jobClass) {
+        ClassQueue queue = queues.get(jobClass);
+        return schedulerConfig.getMaxConcurrency(jobClass) + schedulerConfig.getQueueDepth(jobClass)
+                - queue.running - queue.queued;
     }
-}
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/AppConfig.java"
-package com.example.nasajonintegration.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.info.Info;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-import org.springframework.web.client.RestTemplate;
+    public void submit(IntegrationJob job, Consumer<IntegrationJob> onFinished) {
+        JobClass jobClass = job.getJobClass() != null ? job.getJobClass() : JobClass.INTERACTIVE;
+        String flow = job.getEntityType() != null ? job.getEntityType() : job.getType();
+        synchronized (this) {
+            queues.get(jobClass).add(new QueuedJob(job, flow, onFinished, System.nanoTime()));
+        }
+        drain();
+    }
 
-import java.util.concurrent.Executor;
+    private synchronized void drain() {
+        for (JobClass jobClass : JobClass.values()) {
+            ClassQueue queue = queues.get(jobClass);
+            while (queue.running < schedulerConfig.getMaxConcurrency(jobClass) && queue.queued > 0) {
+                QueuedJob next = queue.next(schedulerConfig);
+                if (!start(queue, next)) {
+                    // The worker pool is saturated; try again when a running job finishes
+                    queue.pushBack(next);
+                    return;
+                }
+            }
+        }
+    }
 
-@Configuration
-public class AppConfig {
+    private boolean start(ClassQueue queue, QueuedJob queued) {
+        queue.running++;
+        boolean accepted = jobDispatcher.dispatch(queued.job(), job -> CompletableFuture.completedFuture(job)
+                .thenCompose(jobHandler::handle)
+                .whenComplete((result, error) -> finished(queue, queued)));
+        if (!accepted) {
+            queue.running--;
+            return false;
+        }
+        
+        queue.waitTimer.record(System.nanoTime() - queued.enqueuedAt(), TimeUnit.NANOSECONDS);
+        return true;
+    }
 
-    @Bean
-    public RestTemplate restTemplate(NasajonApiConfig apiConfig) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(apiConfig.getTimeout());
-        factory.setReadTimeout(apiConfig.getTimeout());
-        return new RestTemplate(factory);
+    private void finished(ClassQueue queue, QueuedJob queued) {
+        synchronized (this) {
+            queue.running--;
+        }
+        queued.onFinished().accept(queued.job());
+        drain();
     }
 
-    @Bean
-    public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        return objectMapper;
+    private synchronized int queued(JobClass jobClass) {
+        return queues.get(jobClass).queued;
     }
 
-    @Bean
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("NasajonIntegration-");
-        executor.initialize();
-        return executor;
+    private synchronized int running(JobClass jobClass) {
+        return queues.get(jobClass).running;
     }
 
-    @Bean
-    public OpenAPI customOpenAPI() {
-        return new OpenAPI()
-                .info(new Info()
-                        .title("Nasajon Integration API")
-                        .version("1.0.0")
-                        .description("API for integrating with Nasajon systems"));
+    private record QueuedJob(IntegrationJob job, String flow, Consumer<IntegrationJob> onFinished, long enqueuedAt) {
     }
-}
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/dto/ExportRequest.java"
-package com.example.nasajonintegration.dto;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
+    /**
+     * Per-class state, guarded by the scheduler's monitor. Flows with queued jobs take
+     * turns; the flow at the head may start up to its weight in jobs before rotating.
+     */
+    private static final class ClassQueue {
+
+        private final Timer waitTimer;
+        private final Map<String, Deque<QueuedJob>> flows = new HashMap<>();
+        private final Deque<String> activeFlows = new ArrayDeque<>();
+        private int turnsLeft;
+        private int queued;
+        private int running;
+
+        private ClassQueue(Timer waitTimer) {
+            this.waitTimer = waitTimer;
+        }
 
-public class ExportRequest {
-    private String entityType;
-    private List<String> entityIds;
-    private LocalDateTime fromDate;
-    private LocalDateTime toDate;
-    private Map<String, Object> filters;
-    private String format;
-    private boolean includeRelated;
+        private void add(QueuedJob job) {
+            Deque<QueuedJob> flow = flows.computeIfAbsent(job.flow(), key -> new ArrayDeque<>());
+            if (flow.isEmpty()) {
+                activeFlows.addLast(job.flow());
+            }
+            flow.addLast(job);
+            queued++;
+        }
 
-    // Getters and setters
-    public String getEntityType() {
-        return entityType;
+        private QueuedJob next(SchedulerConfig schedulerConfig) {
+            String flowKey = activeFlows.peekFirst();
+            if (turnsLeft <= 0) {
+                turnsLeft = schedulerConfig.getWeight(flowKey);
+            }
+            
+            Deque<QueuedJob> flow = flows.get(flowKey);
+            QueuedJob job = flow.pollFirst();
+            queued--;
+            turnsLeft--;
+            
+            if (flow.isEmpty()) {
+                flows.remove(flowKey);
+                activeFlows.pollFirst();
+                turnsLeft = 0;
+            } else if (turnsLeft == 0) {
+                activeFlows.addLast(activeFlows.pollFirst());
+            }
+            return job;
+        }
+
+        private void pushBack(QueuedJob job) {
+            Deque<QueuedJob> flow = flows.computeIfAbsent(job.flow(), key -> new ArrayDeque<>());
+            if (flow.isEmpty()) {
+                activeFlows.addFirst(job.flow());
+            }
+            flow.addFirst(job);
+            queued++;
+        }
     }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/QueueBacklogMonitor.java"
+package com.example.nasajonintegration.service;
 
-    public void setEntityType(String entityType) {
-        this.entityType = entityType;
+import com.example.nasajonintegration.config.QueueConfig;
+import com.example.nasajonintegration.exception.BackpressureException;
+import com.example.nasajonintegration.repository.IntegrationJobJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for new jobs. The cluster-wide number of PENDING jobs is sampled
+ * periodically; jobs accepted by this node since the last sample are added on top, so a
+ * burst cannot overshoot the limit between samples. Once the backlog is full, requests
+ * are rejected with 429 and Retry-After instead of queueing work that cannot be drained.
+ */
+@Component
+public class QueueBacklogMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueBacklogMonitor.class);
+
+    private final IntegrationJobJdbcRepository jdbcRepository;
+    private final QueueConfig queueConfig;
+    private final AtomicLong sampledBacklog = new AtomicLong();
+    private final AtomicLong acceptedSinceSample = new AtomicLong();
+
+    @Autowired
+    public QueueBacklogMonitor(IntegrationJobJdbcRepository jdbcRepository, QueueConfig queueConfig,
+                               MeterRegistry meterRegistry) {
+        this.jdbcRepository = jdbcRepository;
+        this.queueConfig = queueConfig;
+        Gauge.builder("integration.queue.backlog", this, QueueBacklogMonitor::getBacklog)
+                .description("Pending jobs, capped at integration.queue.max-pending")
+                .register(meterRegistry);
     }
 
-    public List<String> getEntityIds() {
-        return entityIds;
+    public void checkCapacity() {
+        if (getBacklog() >= queueConfig.getMaxPending()) {
+            throw new BackpressureException("Integration backlog is full, please retry later",
+                    queueConfig.getRetryAfter());
+        }
+        acceptedSinceSample.incrementAndGet();
     }
 
-    public void setEntityIds(List<String> entityIds) {
-        this.entityIds = entityIds;
+    public long getBacklog() {
+        return sampledBacklog.get() + acceptedSinceSample.get();
     }
 
-    public LocalDateTime getFromDate() {
-        return fromDate;
+    @Scheduled(fixedDelayString = "${integration.queue.backlog-interval:1000}")
+    public void sample() {
+        try {
+            long pending = jdbcRepository.countPending(queueConfig.getMaxPending());
+            acceptedSinceSample.set(0);
+            sampledBacklog.set(pending);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to sample the job backlog: {}", e.getMessage());
+        }
     }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobStatusJournal.java"
+package com.example.nasajonintegration.service;
 
-    public void setFromDate(LocalDateTime fromDate) {
-        this.fromDate = fromDate;
+import com.example.nasajonintegration.config.JournalConfig;
+import com.example.nasajonintegration.event.JobStatusChangedEvent;
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.model.JobStatusView;
+import com.example.nasajonintegration.repository.IntegrationJobJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind journal for job state transitions.
+ *
+ * <p>Job creation is written synchronously, so a job ID returned to a client always
+ * exists in the database. Later transitions (status, progress, results) are coalesced
+ * per job, keeping only the newest snapshot, and flushed in JDBC batches every
+ * {@code integration.journal.flush-interval} ms. A crash can therefore lose at most the
+ * transitions of the last interval, progress and results included. A job left PROCESSING
+ * is failed by the stuck-job check once its heartbeat times out, even if the lost
+ * transition had completed it; a job left PENDING is leased again when its lease expires.
+ * Set {@code integration.journal.enabled=false} to write every transition synchronously.
+ *
+ * <p>Transitions only apply while the job is PENDING or PROCESSING and still held by the
+ * lease owner recorded in the snapshot; late ones for a job that was failed, requeued or
+ * leased by another node in the meantime are dropped.
+ *
+ * <p>Every recorded transition is also published as a {@link JobStatusChangedEvent}.
+ */
+@Component
+public class JobStatusJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobStatusJournal.class);
+
+    private final IntegrationJobJdbcRepository jdbcRepository;
+    private final JournalConfig journalConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, IntegrationJob> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobStatusJournal(IntegrationJobJdbcRepository jdbcRepository, JournalConfig journalConfig,
+                            ApplicationEventPublisher eventPublisher) {
+        this.jdbcRepository = jdbcRepository;
+        this.journalConfig = journalConfig;
+        this.eventPublisher = eventPublisher;
     }
 
-    public LocalDateTime getToDate() {
-        return toDate;
+    public void create(IntegrationJob job) {
+        jdbcRepository.insert(job);
+        eventPublisher.publishEvent(new JobStatusChangedEvent(JobStatusView.from(job)));
     }
 
-    public void setToDate(LocalDateTime toDate) {
-        this.toDate = toDate;
+    /**
+     * Puts a failed or cancelled job back on the queue. Written synchronously, and any
+     * unflushed snapshot is dropped so it cannot overwrite the requeued row later.
+     */
+    public boolean requeue(IntegrationJob job) {
+        pending.remove(job.getJobId());
+        if (!jdbcRepository.requeue(job.getJobId())) {
+            return false;
+        }
+        
+        job.setStatus(JobStatus.PENDING);
+        job.setResultMessage(null);
+        job.setStartedAt(null);
+        job.setCompletedAt(null);
+        job.setLeaseOwner(null);
+        job.setLeaseExpiresAt(null);
+        job.setRetryCount(job.getRetryCount() != null ? job.getRetryCount() + 1 : 1);
+        eventPublisher.publishEvent(new JobStatusChangedEvent(JobStatusView.from(job)));
+        return true;
     }
 
-    public Map<String, Object> getFilters() {
-        return filters;
+    /**
+     * Puts a running job back on the queue to be leased again no earlier than
+     * {@code notBefore}, counting it as a retry. Written synchronously like {@link #requeue}.
+     */
+    public boolean defer(IntegrationJob job, LocalDateTime notBefore, String message) {
+        pending.remove(job.getJobId());
+        job.setStatus(JobStatus.PENDING);
+        job.setResultMessage(message);
+        job.setStartedAt(null);
+        job.setLeaseOwner(null);
+        job.setLeaseExpiresAt(notBefore);
+        job.setRetryCount(job.getRetryCount() != null ? job.getRetryCount() + 1 : 1);
+        if (!jdbcRepository.defer(job)) {
+            return false;
+        }
+        
+        eventPublisher.publishEvent(new JobStatusChangedEvent(JobStatusView.from(job)));
+        return true;
     }
 
-    public void setFilters(Map<String, Object> filters) {
-        this.filters = filters;
+    public void record(IntegrationJob job) {
+        IntegrationJob snapshot = snapshot(job);
+        if (journalConfig.isEnabled()) {
+            pending.put(job.getJobId(), snapshot);
+        } else {
+            jdbcRepository.batchUpdate(List.of(snapshot));
+        }
+        eventPublisher.publishEvent(new JobStatusChangedEvent(JobStatusView.from(snapshot)));
     }
 
-    public String getFormat() {
-        return format;
+    public Optional<IntegrationJob> findPending(String jobId) {
+        // Callers get their own copy so they cannot mutate a snapshot that is about to be flushed
+        return Optional.ofNullable(pending.get(jobId)).map(JobStatusJournal::snapshot);
     }
 
-    public void setFormat(String format) {
-        this.format = format;
+    @Scheduled(fixedDelayString = "${integration.journal.flush-interval:200}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        List<IntegrationJob> batch = new ArrayList<>(journalConfig.getBatchSize());
+        for (String jobId : pending.keySet()) {
+            // remove(key) hands over the newest snapshot; a later record() simply queues a new one
+            IntegrationJob snapshot = pending.remove(jobId);
+            if (snapshot != null) {
+                batch.add(snapshot);
+            }
+            if (batch.size() >= journalConfig.getBatchSize()) {
+                write(batch);
+                batch = new ArrayList<>(journalConfig.getBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
     }
 
-    public boolean isIncludeRelated() {
-        return includeRelated;
+    @PreDestroy
+    public void shutdown() {
+        flush();
     }
 
-    public void setIncludeRelated(boolean includeRelated) {
-        this.includeRelated = includeRelated;
+    private void write(List<IntegrationJob> batch) {
+        try {
+            int[] counts = jdbcRepository.batchUpdate(batch);
+            long dropped = Arrays.stream(counts).filter(count -> count == 0).count();
+            if (dropped > 0) {
+                logger.info("Dropped {} job transitions for jobs no longer held by this node", dropped);
+            }
+            logger.debug("Flushed {} job transitions", batch.size());
+        } catch (Exception e) {
+            logger.error("Failed to flush {} job transitions, will retry", batch.size(), e);
+            // Requeue unless a newer transition arrived in the meantime
+            batch.forEach(snapshot -> pending.putIfAbsent(snapshot.getJobId(), snapshot));
+        }
     }
 
-    @Override
-    public String toString() {
-        return "ExportRequest{" +
-                "entityType='" + entityType + '\'' +
-                ", entityIds=" + entityIds +
-                ", fromDate=" + fromDate +
-                ", toDate=" + toDate +
-                ", filters=" + filters +
-                ", format='" + format + '\'' +
-                ", includeRelated=" + includeRelated +
-                '}';
+    private static IntegrationJob snapshot(IntegrationJob job) {
+        IntegrationJob snapshot = new IntegrationJob();
+        snapshot.setJobId(job.getJobId());
+        snapshot.setType(job.getType());
+        snapshot.setEntityType(job.getEntityType());
+        snapshot.setJobClass(job.getJobClass());
+        snapshot.setStatus(job.getStatus());
+        snapshot.setRequestData(job.getRequestData());
+        snapshot.setResultData(job.getResultData());
+        snapshot.setResultMessage(job.getResultMessage());
+        snapshot.setCreatedAt(job.getCreatedAt());
+        snapshot.setStartedAt(job.getStartedAt());
+        snapshot.setCompletedAt(job.getCompletedAt());
+        snapshot.setStagingKey(job.getStagingKey());
+        snapshot.setStagingNode(job.getStagingNode());
+        snapshot.setUploadId(job.getUploadId());
+        snapshot.setProgressCurrent(job.getProgressCurrent());
+        snapshot.setProgressTotal(job.getProgressTotal());
+        snapshot.setRetryCount(job.getRetryCount());
+        snapshot.setIdempotencyKey(job.getIdempotencyKey());
+        snapshot.setHeartbeatAt(job.getHeartbeatAt());
+        snapshot.setLeaseOwner(job.getLeaseOwner());
+        snapshot.setLeaseExpiresAt(job.getLeaseExpiresAt());
+        return snapshot;
     }
 }
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/dto/ImportRequest.java"
-package com.example.nasajonintegration.dto;
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobDeduplicator.java"
+package com.example.nasajonintegration.service;
+
+import com.example.nasajonintegration.config.IdempotencyConfig;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.model.JobStatusView;
+import com.example.nasajonintegration.repository.IntegrationJobJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idempotency index for job submissions. A submission is identified by its
+ * {@code Idempotency-Key} header or, without one, by a fingerprint of the canonical request
+ * JSON, and maps to the job it created while that job is running or completed less than
+ * {@code integration.idempotency.window} ago.
+ *
+ * <p>Lookups hit an in-process map first and fall back to the unique
+ * {@code integration_jobs.idempotency_key} column, which also settles races between
+ * threads and nodes: the losing insert fails and resolves to the winning job. The map is
+ * only a cache of that column and is swept of entries older than the window.
+ */
+@Component
+public class JobDeduplicator {
 
-public class ImportRequest {
-    private String entityType;
-    private String sourceType;
-    private String sourceId;
-    private LocalDateTime fromDate;
-    private LocalDateTime toDate;
-    private Map<String, Object> filters;
-    private boolean overwriteExisting;
-    private boolean validateOnly;
+    private final IntegrationJobJdbcRepository jdbcRepository;
+    private final IdempotencyConfig idempotencyConfig;
+    private final ObjectMapper canonicalMapper;
+    private final Map<String, Entry> jobsByKey = new ConcurrentHashMap<>();
 
-    // Getters and setters
-    public String getEntityType() {
-        return entityType;
+    @Autowired
+    public JobDeduplicator(IntegrationJobJdbcRepository jdbcRepository, IdempotencyConfig idempotencyConfig,
+                           ObjectMapper objectMapper) {
+        this.jdbcRepository = jdbcRepository;
+        this.idempotencyConfig = idempotencyConfig;
+        // Sorted properties and map keys make equal requests serialize identically
+        this.canonicalMapper = objectMapper.copy()
+                .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
     }
 
-    public void setEntityType(String entityType) {
-        this.entityType = entityType;
+    /**
+     * Returns the SHA-256 dedup key for a submission of the given job type, derived from
+     * the client's idempotency key when one was sent and from the request body otherwise.
+     */
+    public String fingerprint(String type, String idempotencyKey, Object request) {
+        String source;
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            source = type + ":key:" + idempotencyKey.trim();
+        } else {
+            try {
+                source = type + ":request:" + canonicalMapper.writeValueAsString(request);
+            } catch (JsonProcessingException e) {
+                throw new IntegrationException("Failed to fingerprint request: " + e.getMessage(), e);
+            }
+        }
+        
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
-    public String getSourceType() {
-        return sourceType;
+    public Optional<String> findJobId(String key) {
+        Entry entry = jobsByKey.get(key);
+        if (entry != null) {
+            return Optional.of(entry.jobId());
+        }
+        return jdbcRepository.findJobIdByIdempotencyKey(key);
     }
 
-    public void setSourceType(String sourceType) {
-        this.sourceType = sourceType;
+    public boolean isReusable(JobStatusView view) {
+        if (view.getStatus() == JobStatus.PENDING || view.getStatus() == JobStatus.PROCESSING) {
+            return true;
+        }
+        return view.getStatus() == JobStatus.COMPLETED && view.getCompletedAt() != null
+                && view.getCompletedAt().isAfter(LocalDateTime.now().minus(idempotencyConfig.getWindow()));
     }
 
-    public String getSourceId() {
-        return sourceId;
+    public void register(String key, String jobId) {
+        jobsByKey.put(key, new Entry(jobId, Instant.now()));
     }
 
-    public void setSourceId(String sourceId) {
-        this.sourceId = sourceId;
+    public void release(String key, String jobId) {
+        jobsByKey.computeIfPresent(key, (k, entry) -> entry.jobId().equals(jobId) ? null : entry);
+        jdbcRepository.releaseIdempotencyKey(key, jobId);
     }
 
-    public LocalDateTime getFromDate() {
-        return fromDate;
+    @Scheduled(fixedDelayString = "${integration.idempotency.sweep-interval:60000}")
+    public void sweep() {
+        // Long-running jobs drop out of the map too; their key is still found in the database
+        Instant cutoff = Instant.now().minus(idempotencyConfig.getWindow());
+        jobsByKey.values().removeIf(entry -> entry.registeredAt().isBefore(cutoff));
     }
 
-    public void setFromDate(LocalDateTime fromDate) {
-        this.fromDate = fromDate;
+    private record Entry(String jobId, Instant registeredAt) {
     }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobStatusCache.java"
+package com.example.nasajonintegration.service;
 
-    public LocalDateTime getToDate() {
-        return toDate;
-    }
+import com.example.nasajonintegration.config.StatusCacheConfig;
+import com.example.nasajonintegration.event.JobStatusChangedEvent;
+import com.example.nasajonintegration.model.JobStatusView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache of job status views, kept current by the transitions this node
+ * records, so status polling rarely reaches the database. Hit/miss counts are exported
+ * as {@code cache.*} metrics with {@code cache=jobStatus}.
+ */
+@Component
+public class JobStatusCache {
+
+    private final Cache<String, JobStatusView> cache;
+
+    @Autowired
+    public JobStatusCache(StatusCacheConfig cacheConfig, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaxSize())
+                .expireAfterWrite(cacheConfig.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jobStatus");
+    }
+
+    public JobStatusView get(String jobId, Function<String, JobStatusView> loader) {
+        return cache.get(jobId, loader);
+    }
+
+    public void evict(String jobId) {
+        cache.invalidate(jobId);
+    }
+
+    @EventListener
+    public void onStatusChanged(JobStatusChangedEvent event) {
+        cache.put(event.getView().getJobId(), event.getView());
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobStatusNotifier.java"
+package com.example.nasajonintegration.service;
+
+import com.example.nasajonintegration.config.StatusStreamConfig;
+import com.example.nasajonintegration.config.WorkerConfig;
+import com.example.nasajonintegration.dto.IntegrationResponse;
+import com.example.nasajonintegration.event.JobStatusChangedEvent;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.model.JobStatusView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pushes job transitions to long-poll requests and Server-Sent Event streams as they are
+ * recorded, so clients wait for changes instead of polling. Only transitions recorded by
+ * this node are observed; behind a load balancer long polls still return on timeout with
+ * the latest known state, and streams catch up on the next local transition.
+ */
+@Component
+public class JobStatusNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobStatusNotifier.class);
+
+    private final StatusStreamConfig streamConfig;
+    private final Map<String, Set<Watcher>> watchers = new ConcurrentHashMap<>();
+    // Stream writes can block on slow clients, so they never run on the job worker that published the event
+    private final ExecutorService sendExecutor;
+
+    @Autowired
+    public JobStatusNotifier(StatusStreamConfig streamConfig, WorkerConfig workerConfig) {
+        this.streamConfig = streamConfig;
+        this.sendExecutor = Executors.newFixedThreadPool(streamConfig.getSendThreads(),
+                workerConfig.threadFactory("StatusStream-"));
+    }
+
+    /**
+     * Completes once the job's status or progress differs from what the client already
+     * knows, or with the current state when the long-poll timeout passes.
+     */
+    public DeferredResult<IntegrationResponse> awaitChange(String jobId, Supplier<JobStatusView> current,
+                                                           JobStatus knownStatus, Integer knownProgress) {
+        DeferredResult<IntegrationResponse> result = new DeferredResult<>(streamConfig.getLongPollTimeout().toMillis());
+        Watcher watcher = view -> {
+            if (!isNewer(view, knownStatus, knownProgress)) {
+                return false;
+            }
+            result.setResult(IntegrationResponse.from(view));
+            return true;
+        };
+        
+        register(jobId, watcher);
+        result.onTimeout(() -> result.setResult(IntegrationResponse.from(current.get())));
+        result.onCompletion(() -> unregister(jobId, watcher));
+        
+        // Checked after registering so a transition between the lookup and the registration is not lost
+        if (watcher.onChange(current.get())) {
+            unregister(jobId, watcher);
+        }
+        return result;
+    }
+
+    /**
+     * Opens an event stream that sends the current state of every job and then each change,
+     * completing once all of them have reached a terminal status.
+     */
+    public SseEmitter stream(List<String> jobIds, Function<String, JobStatusView> lookup) {
+        if (jobIds.isEmpty() || jobIds.size() > streamConfig.getMaxJobsPerStream()) {
+            throw new IntegrationException("A status stream must watch between 1 and "
+                    + streamConfig.getMaxJobsPerStream() + " jobs");
+        }
+        
+        SseEmitter emitter = new SseEmitter(streamConfig.getSseTimeout().toMillis());
+        Subscription subscription = new Subscription(emitter, jobIds);
+        jobIds.forEach(jobId -> register(jobId, subscription));
+        
+        Runnable cleanup = () -> jobIds.forEach(jobId -> unregister(jobId, subscription));
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> cleanup.run());
+        
+        subscription.start(lookup);
+        return emitter;
+    }
+
+    @EventListener
+    public void onStatusChanged(JobStatusChangedEvent event) {
+        JobStatusView view = event.getView();
+        Set<Watcher> jobWatchers = watchers.get(view.getJobId());
+        if (jobWatchers == null) {
+            return;
+        }
+        
+        jobWatchers.removeIf(watcher -> watcher.onChange(view));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    private void register(String jobId, Watcher watcher) {
+        watchers.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(watcher);
+    }
+
+    private void unregister(String jobId, Watcher watcher) {
+        watchers.computeIfPresent(jobId, (id, jobWatchers) -> {
+            jobWatchers.remove(watcher);
+            return jobWatchers.isEmpty() ? null : jobWatchers;
+        });
+    }
+
+    private static boolean isNewer(JobStatusView view, JobStatus knownStatus, Integer knownProgress) {
+        return knownStatus == null
+                || view.getStatus() != knownStatus
+                || view.getStatus().isTerminal()
+                || !Objects.equals(view.getProgressCurrent(), knownProgress);
+    }
+
+    @FunctionalInterface
+    private interface Watcher {
+        /**
+         * Returns true once the watcher is done and can be removed.
+         */
+        boolean onChange(JobStatusView view);
+    }
+
+    /**
+     * Coalesces changes per job and sends them in order from a single drain task at a time,
+     * so a slow client only ever receives the latest state of each job.
+     */
+    private final class Subscription implements Watcher {
+
+        private final SseEmitter emitter;
+        private final Set<String> openJobs = ConcurrentHashMap.newKeySet();
+        private final Map<String, JobStatusView> latest = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean started;
+
+        private Subscription(SseEmitter emitter, List<String> jobIds) {
+            this.emitter = emitter;
+            this.openJobs.addAll(jobIds);
+        }
+
+        @Override
+        public boolean onChange(JobStatusView view) {
+            latest.put(view.getJobId(), view);
+            scheduleDrain();
+            return false;
+        }
+
+        private void start(Function<String, JobStatusView> lookup) {
+            // Changes received since registration are newer than the snapshot, so they win
+            for (String jobId : openJobs) {
+                latest.putIfAbsent(jobId, lookup.apply(jobId));
+            }
+            started = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (started && draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                for (String jobId : latest.keySet()) {
+                    JobStatusView view = latest.remove(jobId);
+                    if (view != null) {
+                        send(view);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (!latest.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(JobStatusView view) {
+            if (openJobs.isEmpty()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(view.getJobId())
+                        .name("status")
+                        .data(IntegrationResponse.from(view), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Status stream closed by client: {}", e.getMessage());
+                openJobs.clear();
+                emitter.completeWithError(e);
+                return;
+            }
+            
+            if (view.getStatus().isTerminal() && openJobs.remove(view.getJobId()) && openJobs.isEmpty()) {
+                emitter.complete();
+            }
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobHeartbeat.java"
+package com.example.nasajonintegration.service;
+
+import com.example.nasajonintegration.config.QueueConfig;
+import com.example.nasajonintegration.repository.IntegrationJobJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically refreshes {@code heartbeat_at} and extends the queue lease of every job
+ * leased by this node with a single UPDATE, so the stuck-job detector can tell live jobs
+ * from ones whose node died and other nodes never lease a job that is still held.
+ */
+@Component
+public class JobHeartbeat {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobHeartbeat.class);
+
+    private final IntegrationJobJdbcRepository jdbcRepository;
+    private final QueueConfig queueConfig;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public JobHeartbeat(IntegrationJobJdbcRepository jdbcRepository, QueueConfig queueConfig) {
+        this.jdbcRepository = jdbcRepository;
+        this.queueConfig = queueConfig;
+    }
+
+    public void start(String jobId) {
+        runningJobs.add(jobId);
+    }
+
+    public void stop(String jobId) {
+        runningJobs.remove(jobId);
+    }
+
+    @Scheduled(fixedDelayString = "${integration.heartbeat.interval:30000}")
+    public void beat() {
+        List<String> jobIds = List.copyOf(runningJobs);
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            jdbcRepository.heartbeat(jobIds, now, now.plus(queueConfig.getLeaseDuration()));
+        } catch (DataAccessException e) {
+            logger.warn("Failed to send heartbeat for {} running jobs: {}", jobIds.size(), e.getMessage());
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/JobRetentionService.java"
+package com.example.nasajonintegration.service;
+
+import com.example.nasajonintegration.config.RetentionConfig;
+import com.example.nasajonintegration.repository.IntegrationJobJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Removes jobs past the retention period without long transactions. On a plain table old
+ * terminal jobs are deleted in bounded chunks with a pause in between; when
+ * {@code integration_jobs} is range-partitioned by month (see db/partition-integration-jobs.sql)
+ * whole expired partitions are dropped instead. A partition that still holds pending or
+ * processing jobs is kept, with a warning, until those jobs finish.
+ */
+@Service
+public class JobRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobRetentionService.class);
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("integration_jobs_y(\\d{4})m(\\d{2})");
+
+    private final IntegrationJobJdbcRepository jdbcRepository;
+    private final RetentionConfig retentionConfig;
+    private final Counter purgedJobs;
+    private final Counter droppedPartitions;
+    private final Timer purgeTimer;
+
+    @Autowired
+    public JobRetentionService(IntegrationJobJdbcRepository jdbcRepository, RetentionConfig retentionConfig,
+                               MeterRegistry meterRegistry) {
+        this.jdbcRepository = jdbcRepository;
+        this.retentionConfig = retentionConfig;
+        this.purgedJobs = Counter.builder("integration.jobs.purged")
+                .description("Jobs removed by retention, estimated for dropped partitions")
+                .register(meterRegistry);
+        this.droppedPartitions = Counter.builder("integration.jobs.partitions.dropped")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("integration.jobs.purge")
+                .description("Duration of a retention run")
+                .register(meterRegistry);
+    }
+
+    public long purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionConfig.getDays());
+        long started = System.nanoTime();
+        
+        long removed = retentionConfig.isPartitioned() ? dropExpiredPartitions(cutoff) : deleteExpiredJobs(cutoff);
+        
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        purgeTimer.record(elapsed);
+        purgedJobs.increment(removed);
+        logger.info("Purged {} jobs created before {} in {} ms", removed, cutoff, elapsed.toMillis());
+        return removed;
+    }
+
+    private long deleteExpiredJobs(LocalDateTime cutoff) {
+        long removed = 0;
+        int chunkSize = retentionConfig.getChunkSize();
+        
+        while (true) {
+            int deleted = jdbcRepository.deleteExpired(cutoff, chunkSize);
+            removed += deleted;
+            if (deleted < chunkSize || !pause()) {
+                return removed;
+            }
+        }
+    }
+
+    private long dropExpiredPartitions(LocalDateTime cutoff) {
+        Map<String, Long> partitions = jdbcRepository.listPartitions();
+        if (partitions.isEmpty()) {
+            logger.warn("Partitioned retention is enabled but integration_jobs has no partitions, deleting in chunks");
+            return deleteExpiredJobs(cutoff);
+        }
+        
+        createUpcomingPartitions(partitions);
+        
+        long removed = 0;
+        for (Map.Entry<String, Long> partition : partitions.entrySet()) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(partition.getKey());
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            // Only partitions whose whole range is older than the cutoff are dropped
+            if (month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            
+            if (jdbcRepository.hasOpenJobs(partition.getKey())) {
+                logger.warn("Keeping expired partition {}, it still has pending or processing jobs",
+                        partition.getKey());
+                continue;
+            }
+            
+            logger.info("Dropping expired partition {}", partition.getKey());
+            jdbcRepository.deletePartitionPayloads(partition.getKey(), retentionConfig.getChunkSize());
+            jdbcRepository.dropPartition(partition.getKey());
+            droppedPartitions.increment();
+            removed += partition.getValue();
+        }
+        return removed;
+    }
+
+    private void createUpcomingPartitions(Map<String, Long> existing) {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= retentionConfig.getPartitionsAhead(); i++, month = month.plusMonths(1)) {
+            String partition = String.format("integration_jobs_y%04dm%02d", month.getYear(), month.getMonthValue());
+            if (!existing.containsKey(partition)) {
+                LocalDate from = month.atDay(1);
+                jdbcRepository.createMonthlyPartition(partition, from, from.plusMonths(1));
+                logger.info("Created partition {}", partition);
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(retentionConfig.getChunkPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/ImportRecordSink.java"
+package com.example.nasajonintegration.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receives imported records in bounded batches. A page is handed over only after it was
+ * read from Nasajon in full and the call released its concurrency slot, so a page retried
+ * upstream reaches the sink once and local writes never count as upstream latency.
+ */
+@FunctionalInterface
+public interface ImportRecordSink {
+    void accept(List<Map<String, Object>> records);
+
+    /**
+     * Called after the last batch of every page.
+     */
+    default void pageCompleted(long records) {
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/NasajonApiClient.java"
+package com.example.nasajonintegration.service;
+
+import com.example.nasajonintegration.dto.ExportRequest;
+import com.example.nasajonintegration.dto.FileImportRequest;
+import com.example.nasajonintegration.dto.ImportRequest;
+import org.springframework.core.io.Resource;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface NasajonApiClient {
+    boolean exportData(ExportRequest request);
+    boolean importData(ImportRequest request);
+    boolean importFromFile(FileImportRequest request, Resource content);
+
+    // Multipart-upload protocol used for large files: initiate, upload parts, complete
+    String initiateFileUpload(FileImportRequest request, int partSize, int partCount);
+    boolean uploadFilePart(String uploadId, int partNumber, byte[] content, String checksum);
+    boolean completeFileUpload(String uploadId, Map<Integer, String> partChecksums);
+
+    // Pages through the records matching the request, handing them to the sink in batches; returns the record count
+    long importRecords(ImportRequest request, int pageSize, int batchSize, ImportRecordSink sink);
+
+    // Blocking clients complete these on the calling thread; non-blocking clients override them
+    default CompletableFuture<Boolean> exportDataAsync(ExportRequest request) {
+        return CompletableFuture.completedFuture(exportData(request));
+    }
+
+    default CompletableFuture<Boolean> importDataAsync(ImportRequest request) {
+        return CompletableFuture.completedFuture(importData(request));
+    }
+
+    default CompletableFuture<Boolean> importFromFileAsync(FileImportRequest request, Resource content) {
+        return CompletableFuture.completedFuture(importFromFile(request, content));
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/NasajonApiClientImpl.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.NasajonApiConfig;
+import com.example.nasajonintegration.dto.ExportRequest;
+import com.example.nasajonintegration.dto.FileImportRequest;
+import com.example.nasajonintegration.dto.ImportRequest;
+import com.example.nasajonintegration.exception.CircuitOpenException;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.exception.UploadExpiredException;
+import com.example.nasajonintegration.resilience.ResilientCallExecutor;
+import com.example.nasajonintegration.service.ImportRecordSink;
+import com.example.nasajonintegration.service.NasajonApiClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@ConditionalOnProperty(name = "nasajon.api.client", havingValue = "blocking", matchIfMissing = true)
+public class NasajonApiClientImpl implements NasajonApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(NasajonApiClientImpl.class);
+
+    private final RestTemplate restTemplate;
+    private final NasajonApiConfig apiConfig;
+    private final ObjectMapper objectMapper;
+    private final ResilientCallExecutor callExecutor;
+
+    @Autowired
+    public NasajonApiClientImpl(RestTemplate restTemplate, NasajonApiConfig apiConfig, ObjectMapper objectMapper,
+                                ResilientCallExecutor callExecutor) {
+        this.restTemplate = restTemplate;
+        this.apiConfig = apiConfig;
+        this.objectMapper = objectMapper;
+        this.callExecutor = callExecutor;
+    }
+
+    @Override
+    public boolean exportData(ExportRequest request) {
+        try {
+            logger.info("Calling Nasajon API to export data: {}", request);
+            
+            HttpHeaders headers = createAuthHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            HttpEntity<ExportRequest> entity = new HttpEntity<>(request, headers);
+            
+            ResponseEntity<String> response = callExecutor.execute("/export", () -> restTemplate.exchange(
+                    apiConfig.getBaseUrl() + "/export",
+                    HttpMethod.POST,
+                    entity,
+                    String.class
+            ));
+            
+            logger.info("Export API response: {}", response.getStatusCode());
+            return response.getStatusCode().is2xxSuccessful();
+            
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error calling Nasajon export API", e);
+            throw new IntegrationException("Failed to export data to Nasajon: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean importData(ImportRequest request) {
+        try {
+            logger.info("Calling Nasajon API to import data: {}", request);
+            
+            HttpHeaders headers = createAuthHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            HttpEntity<ImportRequest> entity = new HttpEntity<>(request, headers);
+            
+            ResponseEntity<String> response = callExecutor.execute("/import", () -> restTemplate.exchange(
+                    apiConfig.getBaseUrl() + "/import",
+                    HttpMethod.POST,
+                    entity,
+                    String.class
+            ));
+            
+            logger.info("Import API response: {}", response.getStatusCode());
+            return response.getStatusCode().is2xxSuccessful();
+            
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error calling Nasajon import API", e);
+            throw new IntegrationException("Failed to import data from Nasajon: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean importFromFile(FileImportRequest request, Resource content) {
+        try {
+            logger.info("Calling Nasajon API to import from file: {}, type: {}", request.getFileName(), request.getType());
+            
+            HttpHeaders headers = createAuthHeaders();
+            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+            
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            body.add("file", createFileResource(request, content));
+            body.add("type", request.getType());
+            
+            HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(body, headers);
+            
+            ResponseEntity<String> response = callExecutor.execute("/import/file", () -> restTemplate.exchange(
+                    apiConfig.getBaseUrl() + "/import/file",
+                    HttpMethod.POST,
+                    entity,
+                    String.class
+            ));
+            
+            logger.info("File import API response: {}", response.getStatusCode());
+            return response.getStatusCode().is2xxSuccessful();
+            
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error calling Nasajon file import API", e);
+            throw new IntegrationException("Failed to import file to Nasajon: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String initiateFileUpload(FileImportRequest request, int partSize, int partCount) {
+        try {
+            logger.info("Calling Nasajon API to start chunked upload: {}", request);
+            
+            HttpHeaders headers = createAuthHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(uploadDescriptor(request, partSize, partCount), headers);
+            
+            ResponseEntity<JsonNode> response = callExecutor.execute("/import/file", () -> restTemplate.exchange(
+                    apiConfig.getBaseUrl() + "/import/file/uploads",
+                    HttpMethod.POST,
+                    entity,
+                    JsonNode.class
+            ));
+            
+            String uploadId = response.getBody() != null ? response.getBody().path("uploadId").asText(null) : null;
+            if (uploadId == null) {
+                throw new IntegrationException("Nasajon did not return an upload ID");
+            }
+            return uploadId;
+            
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error calling Nasajon upload initiation API", e);
+            throw new IntegrationException("Failed to start file upload to Nasajon: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean uploadFilePart(String uploadId, int partNumber, byte[] content, String checksum) {
+        try {
+            HttpHeaders headers = createAuthHeaders();
+            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            headers.set("X-Part-Checksum", checksum);
+            
+            HttpEntity<byte[]> entity = new HttpEntity<>(content, headers);
+            
+            ResponseEntity<String> response = callExecutor.executeIdempotent("/import/file", () -> restTemplate.exchange(
+                    apiConfig.getBaseUrl() + "/import/file/uploads/{uploadId}/parts/{partNumber}",
+                    HttpMethod.PUT,
+                    entity,
+                    String.class,
+                    uploadId,
+                    partNumber
+            ));
+            
+            logger.debug("Part {} of upload {} response: {}", partNumber, uploadId, response.getStatusCode());
+            return response.getStatusCode().is2xxSuccessful();
+            
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (HttpClientErrorException e) {
+            if (isUnknownUpload(e.getStatusCode())) {
+                throw new UploadExpiredException("Nasajon no longer knows upload " + uploadId);
+            }
+            throw new IntegrationException("Failed to upload part " + partNumber + " to Nasajon: " + e.getMessage());
+        } catch (Exception e) {
+            throw new IntegrationException("Failed to upload part " + partNumber + " to Nasajon: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean completeFileUpload(String uploadId, Map<Integer, String> partChecksums) {
+        try {
+            logger.info("Calling Nasajon API to complete upload {} with {} parts", uploadId, partChecksums.size());
+            
+            HttpHeaders headers = createAuthHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(completionBody(partChecksums), headers);
+            
+            ResponseEntity<String> response = callExecutor.execute("/import/file", () -> restTemplate.exchange(
+                    apiConfig.getBaseUrl() + "/import/file/uploads/{uploadId}/complete",
+                    HttpMethod.POST,
+                    entity,
+                    String.class,
+                    uploadId
+            ));
+            
+            logger.info("Upload completion API response: {}", response.getStatusCode());
+            return response.getStatusCode().is2xxSuccessful();
+            
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (HttpClientErrorException e) {
+            if (isUnknownUpload(e.getStatusCode())) {
+                throw new UploadExpiredException("Nasajon no longer knows upload " + uploadId);
+            }
+            logger.error("Error calling Nasajon upload completion API", e);
+            throw new IntegrationException("Failed to complete file upload to Nasajon: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error calling Nasajon upload completion API", e);
+            throw new IntegrationException("Failed to complete file upload to Nasajon: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long importRecords(ImportRequest request, int pageSize, int batchSize, ImportRecordSink sink) {
+        logger.info("Calling Nasajon API to stream import records: {}", request);
+        
+        HttpHeaders headers = createAuthHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        RequestCallback requestCallback = restTemplate.httpEntityCallback(new HttpEntity<>(request, headers));
+        
+        long records = 0;
+        int pages = 0;
+        String cursor = null;
+        do {
+            URI uri = UriComponentsBuilder.fromUriString(apiConfig.getBaseUrl() + "/import/records")
+                    .queryParam("pageSize", pageSize)
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .encode()
+                    .build()
+                    .toUri();
+            ImportPageReader.Page page;
+            try {
+                // The body is parsed straight off the connection; a page failing mid-way is retried whole
+                page = callExecutor.executeIdempotent("/import", () -> restTemplate.execute(
+                        uri,
+                        HttpMethod.POST,
+                        requestCallback,
+                        response -> ImportPageReader.read(objectMapper, response.getBody(), batchSize)
+                ));
+            } catch (CircuitOpenException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error calling Nasajon import records API on page {}", pages + 1, e);
+                throw new IntegrationException("Failed to import records from Nasajon: " + e.getMessage());
+            }
+            
+            // Local writes run after the call, so they hold no /import slot and are not measured as its latency
+            page.deliverTo(sink);
+            records += page.records();
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        
+        logger.info("Imported {} records in {} pages", records, pages);
+        return records;
+    }
+
+    static Map<String, Object> uploadDescriptor(FileImportRequest request, int partSize, int partCount) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fileName", request.getFileName());
+        body.put("contentType", request.getContentType());
+        body.put("type", request.getType());
+        body.put("size", request.getSize());
+        body.put("sha256", request.getStagingKey());
+        body.put("partSize", partSize);
+        body.put("partCount", partCount);
+        return body;
+    }
+
+    static Map<String, Object> completionBody(Map<Integer, String> partChecksums) {
+        List<Map<String, Object>> parts = new ArrayList<>();
+        partChecksums.forEach((partNumber, checksum) -> parts.add(Map.of("partNumber", partNumber, "checksum", checksum)));
+        return Map.of("parts", parts);
+    }
+
+    // Nasajon answers 404 for an upload ID it never knew or already dropped and 410 once it expired
+    static boolean isUnknownUpload(HttpStatusCode status) {
+        return status.value() == 404 || status.value() == 410;
+    }
+
+    private HttpHeaders createAuthHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + apiConfig.getApiKey());
+        headers.set("X-Client-Id", apiConfig.getClientId());
+        return headers;
+    }
+
+    private HttpEntity<Resource> createFileResource(FileImportRequest request, Resource content) {
+        HttpHeaders fileHeaders = new HttpHeaders();
+        fileHeaders.setContentType(request.getContentType() != null
+                ? MediaType.parseMediaType(request.getContentType()) : MediaType.APPLICATION_OCTET_STREAM);
+        fileHeaders.setContentDispositionFormData("file", request.getFileName());
+        // Stream the part from the staged file instead of loading it into a byte[]
+        return new HttpEntity<>(content, fileHeaders);
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/ChunkedFileUploader.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.FileUploadConfig;
+import com.example.nasajonintegration.dto.FileImportRequest;
+import com.example.nasajonintegration.exception.BackpressureException;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.exception.UploadExpiredException;
+import com.example.nasajonintegration.model.FileUploadPart;
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.repository.FileUploadPartRepository;
+import com.example.nasajonintegration.service.JobStatusJournal;
+import com.example.nasajonintegration.service.NasajonApiClient;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Uploads large staged files to Nasajon as fixed-size parts sent in parallel. Every
+ * acknowledged part is persisted with its checksum, so a failed job resumes from the
+ * parts that are still missing instead of sending the whole file again. Parts of all
+ * jobs share one pool of {@code integration.file-upload.chunked.parallelism} threads.
+ * When the completion fails or Nasajon no longer knows the upload, the upload and its
+ * acknowledged parts are discarded, so a retry starts a new upload.
+ */
+@Component
+public class ChunkedFileUploader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedFileUploader.class);
+
+    private final NasajonApiClient nasajonApiClient;
+    private final FileUploadPartRepository partRepository;
+    private final JobStatusJournal statusJournal;
+    private final FileUploadConfig uploadConfig;
+    // Shared by every job, so concurrent uploads do not multiply the parts in flight
+    private final ExecutorService partExecutor;
+
+    @Autowired
+    public ChunkedFileUploader(NasajonApiClient nasajonApiClient, FileUploadPartRepository partRepository,
+                               JobStatusJournal statusJournal, FileUploadConfig uploadConfig) {
+        this.nasajonApiClient = nasajonApiClient;
+        this.partRepository = partRepository;
+        this.statusJournal = statusJournal;
+        this.uploadConfig = uploadConfig;
+        this.partExecutor = Executors.newFixedThreadPool(uploadConfig.getParallelism());
+    }
+
+    public boolean supports(FileImportRequest request) {
+        return uploadConfig.isChunkedEnabled() && request.getSize() >= uploadConfig.getThreshold().toBytes();
+    }
+
+    public boolean upload(IntegrationJob job, FileImportRequest request, Path file) {
+        int partSize = (int) uploadConfig.getPartSize().toBytes();
+        int partCount = (int) ((request.getSize() + partSize - 1) / partSize);
+        
+        if (job.getUploadId() == null) {
+            job.setUploadId(nasajonApiClient.initiateFileUpload(request, partSize, partCount));
+            logger.info("Started chunked upload {} for job {} with {} parts", job.getUploadId(), job.getJobId(), partCount);
+        }
+        
+        Map<Integer, String> checksums = new ConcurrentSkipListMap<>();
+        for (FileUploadPart part : partRepository.findByJobId(job.getJobId())) {
+            checksums.put(part.getPartNumber(), part.getChecksum());
+        }
+        if (!checksums.isEmpty()) {
+            logger.info("Resuming upload {} for job {} with {} of {} parts acknowledged",
+                    job.getUploadId(), job.getJobId(), checksums.size(), partCount);
+        }
+        
+        job.setProgressCurrent(checksums.size());
+        job.setProgressTotal(partCount);
+        statusJournal.record(job);
+        
+        List<Integer> missingParts = IntStream.rangeClosed(1, partCount)
+                .filter(partNumber -> !checksums.containsKey(partNumber))
+                .boxed()
+                .toList();
+        
+        boolean success;
+        try {
+            int failures = uploadParts(job, file, partSize, missingParts, checksums);
+            if (failures > 0) {
+                throw new IntegrationException(failures + " of " + partCount
+                        + " parts failed to upload, retry the job to resume the upload");
+            }
+            success = nasajonApiClient.completeFileUpload(job.getUploadId(), checksums);
+        } catch (BackpressureException e) {
+            // Nasajon was not reached, so the upload can still be completed later
+            throw e;
+        } catch (UploadExpiredException e) {
+            discardUpload(job);
+            throw new IntegrationException(e.getMessage() + ", retry the job to start a new upload", e);
+        } catch (IntegrationException e) {
+            // Failed parts are resumed on retry; only a failed completion discards the upload
+            if (checksums.size() == partCount) {
+                discardUpload(job);
+            }
+            throw e;
+        }
+        
+        if (success) {
+            partRepository.deleteByJobId(job.getJobId());
+        } else {
+            discardUpload(job);
+        }
+        return success;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdownNow();
+    }
+
+    private void discardUpload(IntegrationJob job) {
+        logger.warn("Discarding upload {} of job {}, a retry starts a new upload", job.getUploadId(), job.getJobId());
+        partRepository.deleteByJobId(job.getJobId());
+        job.setUploadId(null);
+        job.setProgressCurrent(0);
+        statusJournal.record(job);
+    }
+
+    private int uploadParts(IntegrationJob job, Path file, int partSize, List<Integer> partNumbers,
+                            Map<Integer, String> checksums) {
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean expired = new AtomicBoolean();
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CompletableFuture<?>[] parts = partNumbers.stream()
+                    .map(partNumber -> CompletableFuture.runAsync(() -> {
+                        if (expired.get()) {
+                            failures.incrementAndGet();
+                            return;
+                        }
+                        try {
+                            checksums.put(partNumber, uploadPart(job, channel, partSize, partNumber));
+                        } catch (UploadExpiredException e) {
+                            expired.set(true);
+                            failures.incrementAndGet();
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                            logger.warn("Part {} of job {} failed: {}", partNumber, job.getJobId(), e.getMessage());
+                        }
+                    }, partExecutor))
+                    .toArray(CompletableFuture[]::new);
+            // Every submitted part has to finish before the channel is closed
+            CompletableFuture.allOf(parts).join();
+        } catch (IOException e) {
+            throw new IntegrationException("Failed to read staged file: " + e.getMessage(), e);
+        }
+        
+        if (expired.get()) {
+            throw new UploadExpiredException("Nasajon no longer knows upload " + job.getUploadId());
+        }
+        return failures.get();
+    }
+
+    private String uploadPart(IntegrationJob job, FileChannel channel, int partSize, int partNumber)
+            throws IOException, NoSuchAlgorithmException {
+        long offset = (long) (partNumber - 1) * partSize;
+        int length = (int) Math.min(partSize, channel.size() - offset);
+        
+        // Positional reads are safe to run concurrently on a shared channel
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                break;
+            }
+        }
+        
+        byte[] content = buffer.array();
+        String checksum = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        
+        if (!nasajonApiClient.uploadFilePart(job.getUploadId(), partNumber, content, checksum)) {
+            throw new IntegrationException("Part " + partNumber + " was not acknowledged");
+        }
+        
+        partRepository.save(new FileUploadPart(job.getJobId(), partNumber, length, checksum));
+        synchronized (job) {
+            job.setProgressCurrent(job.getProgressCurrent() + 1);
+            statusJournal.record(job);
+        }
+        
+        return checksum;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/ExportBatchEngine.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.ExportConfig;
+import com.example.nasajonintegration.config.WorkerConfig;
+import com.example.nasajonintegration.dto.ExportRequest;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.service.JobStatusJournal;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Splits exports with large {@code entityIds} lists into batches and keeps a bounded
+ * number of batch requests in flight. Each in-flight "lane" picks the next batch as
+ * soon as its previous one finishes, so no thread waits on a batch window. Batches of
+ * all jobs share one pool of {@code integration.export.max-in-flight} threads.
+ */
+@Component
+public class ExportBatchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportBatchEngine.class);
+
+    private final ExportCoalescer exportCoalescer;
+    private final JobStatusJournal statusJournal;
+    private final ExportConfig exportConfig;
+    private final ObjectMapper objectMapper;
+    // Lets blocking clients overlap batches without taking slots from the job worker pool
+    private final ExecutorService batchExecutor;
+
+    @Autowired
+    public ExportBatchEngine(ExportCoalescer exportCoalescer, JobStatusJournal statusJournal,
+                             ExportConfig exportConfig, WorkerConfig workerConfig, ObjectMapper objectMapper) {
+        this.exportCoalescer = exportCoalescer;
+        this.statusJournal = statusJournal;
+        this.exportConfig = exportConfig;
+        this.objectMapper = objectMapper;
+        this.batchExecutor = Executors.newFixedThreadPool(exportConfig.getMaxInFlight(),
+                workerConfig.threadFactory("ExportBatch-"));
+    }
+
+    public boolean supports(ExportRequest request) {
+        return request.getEntityIds() != null && request.getEntityIds().size() > exportConfig.getBatchSize();
+    }
+
+    public CompletableFuture<Boolean> export(IntegrationJob job, ExportRequest request) {
+        List<List<String>> batches = partition(request.getEntityIds(), exportConfig.getBatchSize());
+        logger.info("Exporting {} entities for job {} in {} batches", request.getEntityIds().size(), job.getJobId(), batches.size());
+        
+        job.setProgressCurrent(0);
+        job.setProgressTotal(batches.size());
+        statusJournal.record(job);
+        
+        BatchProgress progress = new BatchProgress(batches.size());
+        AtomicInteger nextBatch = new AtomicInteger();
+        CompletableFuture<?>[] lanes = IntStream.range(0, Math.min(exportConfig.getMaxInFlight(), batches.size()))
+                .mapToObj(lane -> runLane(job, request, batches, nextBatch, progress))
+                .toArray(CompletableFuture[]::new);
+        
+        return CompletableFuture.allOf(lanes).thenApply(done -> {
+            job.setResultData(toJson(progress.summary()));
+            if (progress.failed > 0) {
+                throw new IntegrationException(progress.failed + " of " + batches.size() + " export batches failed");
+            }
+            return true;
+        });
+    }
+
+    private CompletableFuture<Void> runLane(IntegrationJob job, ExportRequest request, List<List<String>> batches,
+                                            AtomicInteger nextBatch, BatchProgress progress) {
+        int index = nextBatch.getAndIncrement();
+        if (index >= batches.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        ExportRequest batchRequest = copyWithEntityIds(request, batches.get(index));
+        return CompletableFuture.supplyAsync(() -> exportCoalescer.export(batchRequest), batchExecutor)
+                .thenCompose(call -> call)
+                .handle((success, error) -> {
+                    recordBatch(job, progress, index, Boolean.TRUE.equals(success) && error == null, error);
+                    return null;
+                })
+                .thenCompose(done -> runLane(job, request, batches, nextBatch, progress));
+    }
+
+    private void recordBatch(IntegrationJob job, BatchProgress progress, int index, boolean success, Throwable error) {
+        synchronized (job) {
+            if (success) {
+                progress.succeeded++;
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                String message = cause != null ? cause.getMessage() : "Batch export returned an unsuccessful response";
+                logger.warn("Export batch {} of job {} failed: {}", index, job.getJobId(), message);
+                progress.failed++;
+                progress.failures.add(Map.of("batch", index, "error", String.valueOf(message)));
+            }
+            job.setProgressCurrent(progress.succeeded + progress.failed);
+            statusJournal.record(job);
+        }
+    }
+
+    private ExportRequest copyWithEntityIds(ExportRequest request, List<String> entityIds) {
+        ExportRequest copy = new ExportRequest();
+        copy.setEntityType(request.getEntityType());
+        copy.setEntityIds(entityIds);
+        copy.setFromDate(request.getFromDate());
+        copy.setToDate(request.getToDate());
+        copy.setFilters(request.getFilters());
+        copy.setFormat(request.getFormat());
+        copy.setIncludeRelated(request.isIncludeRelated());
+        return copy;
+    }
+
+    private static List<List<String>> partition(List<String> ids, int batchSize) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            batches.add(ids.subList(start, Math.min(start + batchSize, ids.size())));
+        }
+        return batches;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IntegrationException("Failed to serialize export result: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    private static class BatchProgress {
+        private final int total;
+        private int succeeded;
+        private int failed;
+        private final List<Map<String, Object>> failures = new ArrayList<>();
+
+        BatchProgress(int total) {
+            this.total = total;
+        }
+
+        Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("batches", total);
+            summary.put("succeeded", succeeded);
+            summary.put("failed", failed);
+            summary.put("failedBatches", failures);
+            return summary;
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/ExportCoalescer.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.ExportConfig;
+import com.example.nasajonintegration.dto.ExportRequest;
+import com.example.nasajonintegration.service.JobDeduplicator;
+import com.example.nasajonintegration.service.NasajonApiClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for {@code /export} calls. Identical requests, compared by their
+ * normalized fingerprint, that arrive while one is in flight attach to that call and
+ * share its outcome instead of making their own round trip. With
+ * {@code integration.export.result-ttl} set above its default of 0, successful results
+ * are also reused for that long, so identical requests shortly after skip Nasajon; a
+ * reused export is not sent again, so only opt in where that is acceptable. Shared calls
+ * are counted as {@code integration.export.coalesced}, tagged by {@code source}.
+ */
+@Component
+public class ExportCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportCoalescer.class);
+
+    private final NasajonApiClient nasajonApiClient;
+    private final JobDeduplicator deduplicator;
+    private final ExportConfig exportConfig;
+    private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> results;
+    private final Counter inFlightHits;
+    private final Counter cacheHits;
+
+    @Autowired
+    public ExportCoalescer(NasajonApiClient nasajonApiClient, JobDeduplicator deduplicator, ExportConfig exportConfig,
+                           MeterRegistry meterRegistry) {
+        this.nasajonApiClient = nasajonApiClient;
+        this.deduplicator = deduplicator;
+        this.exportConfig = exportConfig;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(exportConfig.getResultCacheSize())
+                .expireAfterWrite(exportConfig.getResultTtl())
+                .build();
+        this.inFlightHits = Counter.builder("integration.export.coalesced").tag("source", "in-flight")
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("integration.export.coalesced").tag("source", "cache")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Boolean> export(ExportRequest request) {
+        if (!exportConfig.isCoalesce()) {
+            return nasajonApiClient.exportDataAsync(request);
+        }
+        
+        String key = deduplicator.fingerprint("EXPORT", null, request);
+        if (results.getIfPresent(key) != null) {
+            cacheHits.increment();
+            logger.debug("Export {} served from the result cache", key);
+            return CompletableFuture.completedFuture(true);
+        }
+        
+        CompletableFuture<Boolean> call = new CompletableFuture<>();
+        CompletableFuture<Boolean> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            inFlightHits.increment();
+            logger.debug("Export {} attached to the call in flight", key);
+            // A dependent stage, so one follower cannot complete or cancel the shared call
+            return leader.thenApply(success -> success);
+        }
+        
+        CompletableFuture<Boolean> upstream;
+        try {
+            upstream = nasajonApiClient.exportDataAsync(request);
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((success, error) -> {
+            // Cached before the in-flight entry goes, so no identical request slips through in between
+            if (error == null && Boolean.TRUE.equals(success) && !exportConfig.getResultTtl().isZero()) {
+                results.put(key, true);
+            }
+            inFlight.remove(key, call);
+            if (error != null) {
+                call.completeExceptionally(error);
+            } else {
+                call.complete(success);
+            }
+        });
+        return call;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/ImportWatermarkTracker.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.ImportConfig;
+import com.example.nasajonintegration.dto.ImportRequest;
+import com.example.nasajonintegration.model.ImportWatermark;
+import com.example.nasajonintegration.repository.ImportWatermarkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Computes the window of incremental imports from the stored high-water mark of their
+ * entity type and source, and advances the mark once an import succeeds. Windows start
+ * {@code integration.import.watermark-overlap} before the mark so records that became
+ * visible upstream late are not missed; the change detector drops the re-read ones.
+ */
+@Component
+public class ImportWatermarkTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportWatermarkTracker.class);
+
+    private final ImportWatermarkRepository watermarkRepository;
+    private final ImportConfig importConfig;
+
+    @Autowired
+    public ImportWatermarkTracker(ImportWatermarkRepository watermarkRepository, ImportConfig importConfig) {
+        this.watermarkRepository = watermarkRepository;
+        this.importConfig = importConfig;
+    }
+
+    /**
+     * Sets the request's window: from the mark (or the request's own {@code fromDate} on
+     * the first run) up to the request's {@code toDate}, capped at {@code now}.
+     */
+    public void applyWindow(ImportRequest request, LocalDateTime now) {
+        watermarkRepository.findById(ImportWatermark.idFor(request.getEntityType(), request.getSourceId()))
+                .ifPresent(watermark -> request.setFromDate(
+                        watermark.getHighWaterMark().minus(importConfig.getWatermarkOverlap())));
+        if (request.getToDate() == null || request.getToDate().isAfter(now)) {
+            request.setToDate(now);
+        }
+        logger.info("Incremental {} import from source {} covers {} to {}", request.getEntityType(),
+                request.getSourceId(), request.getFromDate(), request.getToDate());
+    }
+
+    public void advance(ImportRequest request, String jobId) {
+        String sourceId = request.getSourceId() != null ? request.getSourceId() : "";
+        int updated = watermarkRepository.advance(ImportWatermark.idFor(request.getEntityType(), sourceId),
+                request.getEntityType(), sourceId, request.getToDate(), jobId, LocalDateTime.now());
+        if (updated == 0) {
+            logger.warn("Watermark of {} from source {} is already past {}, left unchanged",
+                    request.getEntityType(), sourceId, request.getToDate());
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/RecordChangeDetector.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.ImportConfig;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.repository.ImportRecordHashJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drops imported records whose content is unchanged since they were last imported for the
+ * same entity type and source. Records are identified by
+ * {@code integration.import.record-id-field} and fingerprinted with SHA-256 of their
+ * canonical JSON; records without an ID always count as changed. When an ID repeats
+ * within a batch the last record wins, as in the record store, and the earlier ones count
+ * neither as changed nor as unchanged. Hashes are only stored by {@link #markApplied}
+ * once the caller has written the records, so a failed write is retried in full.
+ */
+@Component
+public class RecordChangeDetector {
+
+    private final ImportRecordHashJdbcRepository hashRepository;
+    private final ImportConfig importConfig;
+    private final ObjectMapper canonicalMapper;
+
+    @Autowired
+    public RecordChangeDetector(ImportRecordHashJdbcRepository hashRepository, ImportConfig importConfig,
+                                ObjectMapper objectMapper) {
+        this.hashRepository = hashRepository;
+        this.importConfig = importConfig;
+        this.canonicalMapper = objectMapper.copy()
+                .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    public ChangeSet detect(String entityType, String sourceId, List<Map<String, Object>> records) {
+        String scope = entityType + ":" + (sourceId != null ? sourceId : "") + ":";
+        Map<String, String> hashes = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> identified = new LinkedHashMap<>();
+        List<Map<String, Object>> changed = new ArrayList<>();
+        
+        MessageDigest digest = sha256();
+        for (Map<String, Object> record : records) {
+            Object id = record.get(importConfig.getRecordIdField());
+            if (id == null) {
+                changed.add(record);
+                continue;
+            }
+            String hashId = scope + id;
+            hashes.put(hashId, HexFormat.of().formatHex(digest.digest(canonicalJson(record))));
+            identified.put(hashId, record);
+        }
+        
+        Map<String, String> stored = hashRepository.findHashes(hashes.keySet());
+        Map<String, String> changedHashes = new LinkedHashMap<>();
+        int unchanged = 0;
+        for (Map.Entry<String, String> entry : hashes.entrySet()) {
+            if (entry.getValue().equals(stored.get(entry.getKey()))) {
+                unchanged++;
+            } else {
+                changed.add(identified.get(entry.getKey()));
+                changedHashes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new ChangeSet(changed, changedHashes, unchanged);
+    }
+
+    public void markApplied(ChangeSet changes) {
+        hashRepository.upsert(changes.hashes(), LocalDateTime.now());
+    }
+
+    private byte[] canonicalJson(Map<String, Object> record) {
+        try {
+            return canonicalMapper.writeValueAsString(record).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IntegrationException("Failed to fingerprint record: " + e.getMessage(), e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Records to write and the hashes to store once they are written.
+     */
+    public record ChangeSet(List<Map<String, Object>> changed, Map<String, String> hashes, int unchanged) {
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/ImportPageReader.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.service.ImportRecordSink;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses one page of {@code /import/records}, {@code {"records": [...], "nextCursor": "..."}},
+ * token by token into batches of records. The page is held until it was read in full and
+ * only then handed to the sink, so memory use is bounded by the page size.
+ */
+final class ImportPageReader {
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {
+    };
+
+    record Page(List<List<Map<String, Object>>> batches, long records, String nextCursor) {
+
+        void deliverTo(ImportRecordSink sink) {
+            batches.forEach(sink::accept);
+            sink.pageCompleted(records);
+        }
+    }
+
+    private ImportPageReader() {
+    }
+
+    static Page read(ObjectMapper objectMapper, InputStream body, int batchSize) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IntegrationException("Unexpected import page from Nasajon: expected a JSON object");
+            }
+            
+            List<List<Map<String, Object>>> batches = new ArrayList<>();
+            long records = 0;
+            String nextCursor = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("records".equals(field) && value == JsonToken.START_ARRAY) {
+                    records += readRecords(parser, batchSize, batches);
+                } else if ("nextCursor".equals(field)) {
+                    nextCursor = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Page(batches, records, nextCursor == null || nextCursor.isEmpty() ? null : nextCursor);
+        }
+    }
+
+    private static long readRecords(JsonParser parser, int batchSize, List<List<Map<String, Object>>> batches)
+            throws IOException {
+        long records = 0;
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            batch.add(parser.readValueAs(RECORD_TYPE));
+            records++;
+            if (batch.size() >= batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return records;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/StreamingImporter.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.ImportConfig;
+import com.example.nasajonintegration.dto.ImportRequest;
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.service.ImportRecordSink;
+import com.example.nasajonintegration.service.JobStatusJournal;
+import com.example.nasajonintegration.service.NasajonApiClient;
+import com.example.nasajonintegration.validation.RecordValidator;
+import com.example.nasajonintegration.validation.ValidationRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pulls the records of an import from Nasajon page by page and writes them to the local
+ * store batch by batch, so memory use is bounded by the page size rather than the size
+ * of the import. Incremental imports that overwrite existing records drop records whose
+ * content has not changed before writing. Dry runs ({@code validateOnly}) validate the
+ * records instead of writing them. The job's progress is the number of records received
+ * so far.
+ */
+@Component
+public class StreamingImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingImporter.class);
+
+    private final NasajonApiClient nasajonApiClient;
+    private final ImportedRecordStore recordStore;
+    private final RecordChangeDetector changeDetector;
+    private final RecordValidator recordValidator;
+    private final JobStatusJournal statusJournal;
+    private final ImportConfig importConfig;
+
+    @Autowired
+    public StreamingImporter(NasajonApiClient nasajonApiClient, ImportedRecordStore recordStore,
+                             RecordChangeDetector changeDetector, RecordValidator recordValidator,
+                             JobStatusJournal statusJournal, ImportConfig importConfig) {
+        this.nasajonApiClient = nasajonApiClient;
+        this.recordStore = recordStore;
+        this.changeDetector = changeDetector;
+        this.recordValidator = recordValidator;
+        this.statusJournal = statusJournal;
+        this.importConfig = importConfig;
+    }
+
+    public boolean isEnabled() {
+        return importConfig.isStreamingEnabled();
+    }
+
+    /**
+     * Runs the import and returns its summary: records received, written and skipped as
+     * unchanged, plus the window that was requested and, for dry runs, the validation
+     * summary.
+     */
+    public Map<String, Object> importRecords(IntegrationJob job, ImportRequest request) {
+        ImportProgress progress = new ImportProgress();
+        job.setProgressCurrent(0);
+        job.setProgressTotal(null);
+        statusJournal.record(job);
+        ValidationRun validation = request.isValidateOnly() ? recordValidator.start(request.getEntityType()) : null;
+        
+        long received = nasajonApiClient.importRecords(request, importConfig.getStreamingPageSize(),
+                importConfig.getStreamingBatchSize(), new ImportRecordSink() {
+                    @Override
+                    public void accept(List<Map<String, Object>> batch) {
+                        if (validation != null) {
+                            validation.accept(batch);
+                        } else {
+                            write(job, request, batch, progress);
+                        }
+                    }
+
+                    @Override
+                    public void pageCompleted(long records) {
+                        progress.received += records;
+                        job.setProgressCurrent((int) Math.min(Integer.MAX_VALUE, progress.received));
+                        statusJournal.record(job);
+                    }
+                });
+        logger.info("Import job {} received {} records, wrote {}, skipped {} unchanged",
+                job.getJobId(), received, progress.written, progress.unchanged);
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("records", received);
+        summary.put("written", progress.written);
+        summary.put("unchanged", progress.unchanged);
+        summary.put("fromDate", request.getFromDate());
+        summary.put("toDate", request.getToDate());
+        if (validation != null) {
+            summary.put("validation", validation.finish());
+        }
+        return summary;
+    }
+
+    private void write(IntegrationJob job, ImportRequest request, List<Map<String, Object>> batch,
+                       ImportProgress progress) {
+        // Stored hashes describe the stored version, which only imports that overwrite keep current
+        if (!request.isIncremental() || !request.isOverwriteExisting()) {
+            progress.written += recordStore.write(job.getJobId(), request, batch);
+            return;
+        }
+        
+        RecordChangeDetector.ChangeSet changes =
+                changeDetector.detect(request.getEntityType(), request.getSourceId(), batch);
+        if (!changes.changed().isEmpty()) {
+            progress.written += recordStore.write(job.getJobId(), request, changes.changed());
+        }
+        changeDetector.markApplied(changes);
+        progress.unchanged += changes.unchanged();
+    }
+
+    // Only touched by the importing thread, which also runs the sink
+    private static final class ImportProgress {
+        private long received;
+        private long written;
+        private long unchanged;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/ImportedRecordStore.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.config.ImportConfig;
+import com.example.nasajonintegration.dto.ImportRequest;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.model.ImportedRecord;
+import com.example.nasajonintegration.repository.ImportedRecordJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local store of imported records, written in bulk with multi-row upserts or {@code COPY}
+ * ({@code integration.import.writer.mode}). Records with an ID (see
+ * {@code integration.import.record-id-field}) replace their previous version when the
+ * import has {@code overwriteExisting} set and are skipped otherwise. Records without one
+ * are keyed by the job and their content, so a page read twice does not add them twice;
+ * identical records without an ID are stored once per job.
+ */
+@Component
+public class ImportedRecordStore {
+
+    private final ImportedRecordJdbcRepository recordRepository;
+    private final ImportConfig importConfig;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ImportedRecordStore(ImportedRecordJdbcRepository recordRepository, ImportConfig importConfig,
+                               ObjectMapper objectMapper) {
+        this.recordRepository = recordRepository;
+        this.importConfig = importConfig;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the records and returns how many rows were inserted or replaced; records
+     * skipped because they exist and the import does not overwrite are not counted.
+     */
+    public int write(String jobId, ImportRequest request, List<Map<String, Object>> records) {
+        LocalDateTime now = LocalDateTime.now();
+        // An upsert cannot touch the same row twice, so a record repeated within the batch keeps its last version
+        List<ImportedRecord> rows = List.copyOf(records.stream()
+                .map(record -> toEntity(jobId, request, record, now))
+                .collect(Collectors.toMap(ImportedRecord::getRecordId, Function.identity(),
+                        (first, last) -> last, LinkedHashMap::new))
+                .values());
+        
+        if (importConfig.isCopyWriter()) {
+            return recordRepository.copyUpsert(rows, request.isOverwriteExisting());
+        }
+        return recordRepository.batchUpsert(rows, request.isOverwriteExisting(), importConfig.getWriterBatchSize());
+    }
+
+    private ImportedRecord toEntity(String jobId, ImportRequest request, Map<String, Object> record,
+                                    LocalDateTime importedAt) {
+        Object id = record.get(importConfig.getRecordIdField());
+        String sourceId = request.getSourceId() != null ? request.getSourceId() : "";
+        
+        String payload = toJson(record);
+        
+        ImportedRecord entity = new ImportedRecord();
+        entity.setRecordKey(id != null ? id.toString() : null);
+        entity.setRecordId(ImportedRecord.idFor(request.getEntityType(), sourceId, id != null ? id.toString()
+                : UUID.nameUUIDFromBytes((jobId + ":" + payload).getBytes(StandardCharsets.UTF_8)).toString()));
+        entity.setEntityType(request.getEntityType());
+        entity.setSourceId(sourceId);
+        entity.setPayload(payload);
+        entity.setJobId(jobId);
+        entity.setImportedAt(importedAt);
+        return entity;
+    }
+
+    private String toJson(Map<String, Object> record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IntegrationException("Failed to serialize imported record: " + e.getMessage(), e);
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/service/impl/ReactiveNasajonApiClient.java"
+package com.example.nasajonintegration.service.impl;
+
+import com.example.nasajonintegration.dto.ExportRequest;
+import com.example.nasajonintegration.dto.FileImportRequest;
+import com.example.nasajonintegration.dto.ImportRequest;
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.exception.UploadExpiredException;
+import com.example.nasajonintegration.resilience.EndpointConcurrencyLimiter;
+import com.example.nasajonintegration.service.ImportRecordSink;
+import com.example.nasajonintegration.service.NasajonApiClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking Nasajon client built on WebClient. In-flight calls only hold an event-loop
+ * connection, not a worker thread. Calls share the adaptive per-endpoint limits of the
+ * {@link EndpointConcurrencyLimiter} and wait for a slot without blocking; retries and
+ * circuit breaking apply to the blocking client only. Enabled with
+ * {@code nasajon.api.client=reactive}.
+ */
+@Service
+@ConditionalOnProperty(name = "nasajon.api.client", havingValue = "reactive")
+public class ReactiveNasajonApiClient implements NasajonApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveNasajonApiClient.class);
+
+    private final WebClient webClient;
+    private final EndpointConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ReactiveNasajonApiClient(@Qualifier("nasajonWebClient") WebClient webClient,
+                                    EndpointConcurrencyLimiter concurrencyLimiter, ObjectMapper objectMapper) {
+        this.webClient = webClient;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean exportData(ExportRequest request) {
+        return await(exportDataAsync(request));
+    }
+
+    @Override
+    public boolean importData(ImportRequest request) {
+        return await(importDataAsync(request));
+    }
+
+    @Override
+    public boolean importFromFile(FileImportRequest request, Resource content) {
+        return await(importFromFileAsync(request, content));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exportDataAsync(ExportRequest request) {
+        logger.info("Calling Nasajon API to export data: {}", request);
+        return post("/export", MediaType.APPLICATION_JSON, BodyInserters.fromValue(request))
+                .doOnNext(success -> logger.info("Export API response successful: {}", success))
+                .onErrorMap(e -> !(e instanceof IntegrationException),
+                        e -> new IntegrationException("Failed to export data to Nasajon: " + e.getMessage(), e))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> importDataAsync(ImportRequest request) {
+        logger.info("Calling Nasajon API to import data: {}", request);
+        return post("/import", MediaType.APPLICATION_JSON, BodyInserters.fromValue(request))
+                .doOnNext(success -> logger.info("Import API response successful: {}", success))
+                .onErrorMap(e -> !(e instanceof IntegrationException),
+                        e -> new IntegrationException("Failed to import data from Nasajon: " + e.getMessage(), e))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> importFromFileAsync(FileImportRequest request, Resource content) {
+        logger.info("Calling Nasajon API to import from file: {}, type: {}", request.getFileName(), request.getType());
+        
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", content)
+                .contentType(request.getContentType() != null
+                        ? MediaType.parseMediaType(request.getContentType()) : MediaType.APPLICATION_OCTET_STREAM)
+                .filename(request.getFileName());
+        body.part("type", request.getType());
+        
+        return post("/import/file", MediaType.MULTIPART_FORM_DATA, BodyInserters.fromMultipartData(body.build()))
+                .doOnNext(success -> logger.info("File import API response successful: {}", success))
+                .onErrorMap(e -> !(e instanceof IntegrationException),
+                        e -> new IntegrationException("Failed to import file to Nasajon: " + e.getMessage(), e))
+                .toFuture();
+    }
+
+    @Override
+    public String initiateFileUpload(FileImportRequest request, int partSize, int partCount) {
+        logger.info("Calling Nasajon API to start chunked upload: {}", request);
+        return await(concurrencyLimiter.executeAsync("/import/file", () -> webClient.post()
+                        .uri("/import/file/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(NasajonApiClientImpl.uploadDescriptor(request, partSize, partCount))
+                        .retrieve()
+                        .bodyToMono(JsonNode.class))
+                .map(body -> body.path("uploadId").asText(""))
+                .filter(uploadId -> !uploadId.isEmpty())
+                .switchIfEmpty(Mono.error(new IntegrationException("Nasajon did not return an upload ID")))
+                .onErrorMap(e -> !(e instanceof IntegrationException),
+                        e -> new IntegrationException("Failed to start file upload to Nasajon: " + e.getMessage(), e))
+                .toFuture());
+    }
+
+    @Override
+    public boolean uploadFilePart(String uploadId, int partNumber, byte[] content, String checksum) {
+        return await(concurrencyLimiter.executeAsync("/import/file", () -> webClient.put()
+                        .uri("/import/file/uploads/{uploadId}/parts/{partNumber}", uploadId, partNumber)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header("X-Part-Checksum", checksum)
+                        .bodyValue(content)
+                        .retrieve()
+                        .toBodilessEntity())
+                .map(response -> response.getStatusCode().is2xxSuccessful())
+                .onErrorMap(e -> isUnknownUpload(e) ? new UploadExpiredException("Nasajon no longer knows upload " + uploadId)
+                        : new IntegrationException("Failed to upload part " + partNumber + " to Nasajon: " + e.getMessage(), e))
+                .toFuture());
+    }
+
+    @Override
+    public boolean completeFileUpload(String uploadId, Map<Integer, String> partChecksums) {
+        logger.info("Calling Nasajon API to complete upload {} with {} parts", uploadId, partChecksums.size());
+        return await(concurrencyLimiter.executeAsync("/import/file", () -> webClient.post()
+                        .uri("/import/file/uploads/{uploadId}/complete", uploadId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(NasajonApiClientImpl.completionBody(partChecksums))
+                        .retrieve()
+                        .toBodilessEntity())
+                .map(response -> response.getStatusCode().is2xxSuccessful())
+                .onErrorMap(e -> isUnknownUpload(e) ? new UploadExpiredException("Nasajon no longer knows upload " + uploadId)
+                        : new IntegrationException("Failed to complete file upload to Nasajon: " + e.getMessage(), e))
+                .toFuture());
+    }
+
+    private static boolean isUnknownUpload(Throwable error) {
+        return error instanceof WebClientResponseException response
+                && NasajonApiClientImpl.isUnknownUpload(response.getStatusCode());
+    }
+
+    @Override
+    public long importRecords(ImportRequest request, int pageSize, int batchSize, ImportRecordSink sink) {
+        logger.info("Calling Nasajon API to stream import records: {}", request);
+        long records = 0;
+        String cursor = null;
+        do {
+            String pageCursor = cursor;
+            // One page is buffered at a time (bounded by pageSize) and handed to the sink after its slot is released
+            DataBuffer page = await(concurrencyLimiter.executeAsync("/import", () -> DataBufferUtils.join(webClient.post()
+                            .uri(uri -> uri.path("/import/records")
+                                    .queryParam("pageSize", pageSize)
+                                    .queryParamIfPresent("cursor", Optional.ofNullable(pageCursor))
+                                    .build())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(request)
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)))
+                    .switchIfEmpty(Mono.error(new IntegrationException("Nasajon returned an empty import page")))
+                    .onErrorMap(e -> !(e instanceof IntegrationException),
+                            e -> new IntegrationException("Failed to import records from Nasajon: " + e.getMessage(), e))
+                    .toFuture());
+            
+            ImportPageReader.Page result;
+            try (InputStream body = page.asInputStream(true)) {
+                result = ImportPageReader.read(objectMapper, body, batchSize);
+            } catch (IOException e) {
+                throw new IntegrationException("Failed to read import page from Nasajon: " + e.getMessage(), e);
+            }
+            
+            result.deliverTo(sink);
+            records += result.records();
+            cursor = result.nextCursor();
+        } while (cursor != null);
+        return records;
+    }
+
+    private Mono<Boolean> post(String path, MediaType contentType, BodyInserter<?, ? super ClientHttpRequest> body) {
+        return concurrencyLimiter.executeAsync(path, () -> webClient.post()
+                        .uri(path)
+                        .contentType(contentType)
+                        .body(body)
+                        .retrieve()
+                        .toBodilessEntity())
+                .map(response -> response.getStatusCode().is2xxSuccessful())
+                // Hand completion off the event loop: callers persist job state in their callbacks
+                .publishOn(Schedulers.boundedElastic());
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/NasajonApiConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NasajonApiConfig {
+
+    @Value("${nasajon.api.base-url}")
+    private String baseUrl;
+
+    @Value("${nasajon.api.api-key}")
+    private String apiKey;
+
+    @Value("${nasajon.api.client-id}")
+    private String clientId;
+
+    @Value("${nasajon.api.timeout:30000}")
+    private int timeout;
+
+    @Value("${nasajon.api.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${nasajon.api.read-timeout:${nasajon.api.timeout:30000}}")
+    private int readTimeout;
+
+    @Value("${nasajon.api.pool.acquire-timeout:2000}")
+    private int poolAcquireTimeout;
+
+    @Value("${nasajon.api.pool.max-total:100}")
+    private int poolMaxTotal;
+
+    @Value("${nasajon.api.pool.max-per-route:20}")
+    private int poolMaxPerRoute;
+
+    @Value("${nasajon.api.pool.idle-eviction:30000}")
+    private int poolIdleEviction;
+
+    @Value("${nasajon.api.pool.time-to-live:300000}")
+    private int poolTimeToLive;
+
+    @Value("${nasajon.api.concurrency.export:20}")
+    private int exportConcurrency;
+
+    @Value("${nasajon.api.concurrency.import:20}")
+    private int importConcurrency;
+
+    @Value("${nasajon.api.concurrency.file-import:5}")
+    private int fileImportConcurrency;
+
+    @Value("${nasajon.api.concurrency.min-limit:1}")
+    private int concurrencyMinLimit;
+
+    @Value("${nasajon.api.concurrency.backoff-ratio:0.9}")
+    private double concurrencyBackoffRatio;
+
+    @Value("${nasajon.api.concurrency.latency-tolerance:2.0}")
+    private double concurrencyLatencyTolerance;
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public int getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    public int getPoolMaxTotal() {
+        return poolMaxTotal;
+    }
+
+    public int getPoolMaxPerRoute() {
+        return poolMaxPerRoute;
+    }
+
+    public int getPoolIdleEviction() {
+        return poolIdleEviction;
+    }
+
+    public int getPoolTimeToLive() {
+        return poolTimeToLive;
+    }
+
+    public int getExportConcurrency() {
+        return exportConcurrency;
+    }
+
+    public int getImportConcurrency() {
+        return importConcurrency;
+    }
+
+    public int getFileImportConcurrency() {
+        return fileImportConcurrency;
+    }
+
+    public int getConcurrencyMinLimit() {
+        return concurrencyMinLimit;
+    }
+
+    public double getConcurrencyBackoffRatio() {
+        return concurrencyBackoffRatio;
+    }
+
+    public double getConcurrencyLatencyTolerance() {
+        return concurrencyLatencyTolerance;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/WorkerConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+public class WorkerConfig {
+
+    @Value("${integration.worker.mode:platform}")
+    private String mode;
+
+    @Value("${integration.worker.core-pool-size:5}")
+    private int corePoolSize;
+
+    @Value("${integration.worker.max-pool-size:10}")
+    private int maxPoolSize;
+
+    @Value("${integration.worker.queue-capacity:25}")
+    private int queueCapacity;
+
+    public String getMode() {
+        return mode;
+    }
+
+    public boolean isVirtualThreads() {
+        return "virtual".equalsIgnoreCase(mode);
+    }
+
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Thread factory for the helper pools of individual components, so they follow the
+     * worker mode: virtual threads in {@code virtual} mode, platform threads otherwise.
+     */
+    public ThreadFactory threadFactory(String threadNamePrefix) {
+        if (isVirtualThreads()) {
+            return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(threadNamePrefix);
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/StagingConfig.java"
+package com.example.nasajonintegration.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+public class StagingConfig {
+
+    @Value("${integration.staging.directory:${java.io.tmpdir}/nasajon-staging}")
+    private String directory;
+
+    @Value("${integration.staging.shared:false}")
+    private boolean shared;
+
+    // Unlike the queue node ID this must survive restarts, since staged files do
+    @Value("${integration.staging.node:}")
+    private String node;
+
+    @Value("${integration.staging.quota:50GB}")
+    private DataSize quota;
+
+    @Value("${integration.staging.retention-days:7}")
+    private int retentionDays;
+
+    @PostConstruct
+    void init() {
+        if (node == null || node.isBlank()) {
+            try {
+                node = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                node = "localhost";
+            }
+        }
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public DataSize getQuota() {
+        return quota;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/FileUploadConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class FileUploadConfig {
+
+    @Value("${integration.file-upload.chunked.enabled:false}")
+    private boolean chunkedEnabled;
+
+    @Value("${integration.file-upload.chunked.threshold:64MB}")
+    private DataSize threshold;
+
+    @Value("${integration.file-upload.chunked.part-size:8MB}")
+    private DataSize partSize;
+
+    @Value("${integration.file-upload.chunked.parallelism:4}")
+    private int parallelism;
+
+    @Value("${integration.file-upload.pre-scan:false}")
+    private boolean preScan;
+
+    public boolean isChunkedEnabled() {
+        return chunkedEnabled;
+    }
+
+    public DataSize getThreshold() {
+        return threshold;
+    }
+
+    public DataSize getPartSize() {
+        return partSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isPreScan() {
+        return preScan;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/ExportConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ExportConfig {
+
+    @Value("${integration.export.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${integration.export.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${integration.export.coalesce:true}")
+    private boolean coalesce;
+
+    @Value("${integration.export.result-ttl:0s}")
+    private Duration resultTtl;
+
+    @Value("${integration.export.result-cache-size:10000}")
+    private int resultCacheSize;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public Duration getResultTtl() {
+        return resultTtl;
+    }
+
+    public int getResultCacheSize() {
+        return resultCacheSize;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/ImportConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ImportConfig {
+
+    @Value("${integration.import.watermark-overlap:5m}")
+    private Duration watermarkOverlap;
+
+    @Value("${integration.import.record-id-field:id}")
+    private String recordIdField;
+
+    @Value("${integration.import.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${integration.import.streaming.page-size:1000}")
+    private int streamingPageSize;
+
+    @Value("${integration.import.streaming.batch-size:500}")
+    private int streamingBatchSize;
+
+    @Value("${integration.import.writer.mode:batch}")
+    private String writerMode;
+
+    @Value("${integration.import.writer.batch-size:500}")
+    private int writerBatchSize;
+
+    public Duration getWatermarkOverlap() {
+        return watermarkOverlap;
+    }
+
+    public String getRecordIdField() {
+        return recordIdField;
+    }
+
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    public int getStreamingPageSize() {
+        return streamingPageSize;
+    }
+
+    public int getStreamingBatchSize() {
+        return streamingBatchSize;
+    }
+
+    public String getWriterMode() {
+        return writerMode;
+    }
+
+    public boolean isCopyWriter() {
+        return "copy".equalsIgnoreCase(writerMode);
+    }
+
+    public int getWriterBatchSize() {
+        return writerBatchSize;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/ValidationConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of the local validation used by dry runs. Schemas are maps keyed by entity type:
+ * {@code required} lists fields as {@code "id,name"}, {@code types} maps fields to types as
+ * {@code "id:integer,birthDate:date"}, and {@code patterns} is keyed by {@code ENTITY.field}.
+ */
+@Configuration
+public class ValidationConfig {
+
+    @Value("${integration.validation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${integration.validation.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${integration.validation.max-samples:5}")
+    private int maxSamples;
+
+    @Value("#{${integration.validation.required:{:}}}")
+    private Map<String, String> required;
+
+    @Value("#{${integration.validation.types:{:}}}")
+    private Map<String, String> types;
+
+    @Value("#{${integration.validation.patterns:{:}}}")
+    private Map<String, String> patterns;
+
+    public int getParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxSamples() {
+        return maxSamples;
+    }
+
+    public List<String> getRequiredFields(String entityType) {
+        return split(required.get(entityType));
+    }
+
+    public Map<String, String> getFieldTypes(String entityType) {
+        Map<String, String> fieldTypes = new LinkedHashMap<>();
+        for (String field : split(types.get(entityType))) {
+            int separator = field.lastIndexOf(':');
+            if (separator > 0) {
+                fieldTypes.put(field.substring(0, separator).trim(), field.substring(separator + 1).trim());
+            }
+        }
+        return fieldTypes;
+    }
+
+    public Map<String, String> getFieldPatterns(String entityType) {
+        Map<String, String> fieldPatterns = new LinkedHashMap<>();
+        String prefix = entityType + ".";
+        patterns.forEach((key, regex) -> {
+            if (key.startsWith(prefix)) {
+                fieldPatterns.put(key.substring(prefix.length()), regex);
+            }
+        });
+        return fieldPatterns;
+    }
+
+    private static List<String> split(String fields) {
+        if (fields == null) {
+            return List.of();
+        }
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .toList();
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/JournalConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JournalConfig {
+
+    @Value("${integration.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${integration.journal.batch-size:500}")
+    private int batchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/StatusCacheConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class StatusCacheConfig {
+
+    @Value("${integration.status-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${integration.status-cache.ttl:30s}")
+    private Duration ttl;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/StatusStreamConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class StatusStreamConfig {
+
+    @Value("${integration.status-stream.long-poll-timeout:30s}")
+    private Duration longPollTimeout;
+
+    @Value("${integration.status-stream.sse-timeout:30m}")
+    private Duration sseTimeout;
+
+    @Value("${integration.status-stream.max-jobs-per-stream:100}")
+    private int maxJobsPerStream;
+
+    @Value("${integration.status-stream.send-threads:4}")
+    private int sendThreads;
+
+    public Duration getLongPollTimeout() {
+        return longPollTimeout;
+    }
+
+    public Duration getSseTimeout() {
+        return sseTimeout;
+    }
+
+    public int getMaxJobsPerStream() {
+        return maxJobsPerStream;
+    }
+
+    public int getSendThreads() {
+        return sendThreads;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/HeartbeatConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class HeartbeatConfig {
+
+    @Value("${integration.heartbeat.timeout:5m}")
+    private Duration timeout;
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/RetentionConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RetentionConfig {
+
+    @Value("${integration.retention.days:30}")
+    private int days;
+
+    @Value("${integration.retention.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${integration.retention.chunk-pause:200ms}")
+    private Duration chunkPause;
+
+    @Value("${integration.retention.partitioned:false}")
+    private boolean partitioned;
+
+    @Value("${integration.retention.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public Duration getChunkPause() {
+        return chunkPause;
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    public int getPartitionsAhead() {
+        return partitionsAhead;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/QueueConfig.java"
+package com.example.nasajonintegration.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+public class QueueConfig {
+
+    @Value("${integration.queue.node-id:}")
+    private String nodeId;
+
+    @Value("${integration.queue.lease-duration:2m}")
+    private Duration leaseDuration;
+
+    @Value("${integration.queue.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${integration.queue.retry-after:30s}")
+    private Duration retryAfter;
+
+    @PostConstruct
+    void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    private static String defaultNodeId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (UnknownHostException e) {
+            return "node-" + suffix;
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/SchedulerConfig.java"
+package com.example.nasajonintegration.config;
+
+import com.example.nasajonintegration.model.JobClass;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class SchedulerConfig {
+
+    @Value("${integration.scheduler.interactive.max-concurrency:8}")
+    private int interactiveMaxConcurrency;
+
+    @Value("${integration.scheduler.interactive.queue-depth:8}")
+    private int interactiveQueueDepth;
+
+    @Value("${integration.scheduler.bulk.max-concurrency:2}")
+    private int bulkMaxConcurrency;
+
+    @Value("${integration.scheduler.bulk.queue-depth:2}")
+    private int bulkQueueDepth;
+
+    @Value("#{${integration.scheduler.weights:{:}}}")
+    private Map<String, Integer> weights;
+
+    public int getMaxConcurrency(JobClass jobClass) {
+        return jobClass == JobClass.BULK ? bulkMaxConcurrency : interactiveMaxConcurrency;
+    }
+
+    public int getQueueDepth(JobClass jobClass) {
+        return jobClass == JobClass.BULK ? bulkQueueDepth : interactiveQueueDepth;
+    }
+
+    public int getWeight(String flow) {
+        return Math.max(1, weights.getOrDefault(flow, 1));
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/ResilienceConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Value("${nasajon.api.retry.export.max-attempts:3}")
+    private int exportMaxAttempts;
+
+    @Value("${nasajon.api.retry.import.max-attempts:3}")
+    private int importMaxAttempts;
+
+    @Value("${nasajon.api.retry.file-import.max-attempts:2}")
+    private int fileImportMaxAttempts;
+
+    @Value("${nasajon.api.retry.base-delay:200ms}")
+    private Duration retryBaseDelay;
+
+    @Value("${nasajon.api.retry.max-delay:5s}")
+    private Duration retryMaxDelay;
+
+    @Value("${nasajon.api.retry.budget-ratio:0.2}")
+    private double retryBudgetRatio;
+
+    @Value("${nasajon.api.retry.budget-max:20}")
+    private int retryBudgetMax;
+
+    @Value("${nasajon.api.circuit-breaker.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${nasajon.api.circuit-breaker.open-duration:30s}")
+    private Duration circuitOpenDuration;
+
+    @Value("${nasajon.api.circuit-breaker.max-job-deferrals:10}")
+    private int maxJobDeferrals;
+
+    public int getExportMaxAttempts() {
+        return exportMaxAttempts;
+    }
+
+    public int getImportMaxAttempts() {
+        return importMaxAttempts;
+    }
+
+    public int getFileImportMaxAttempts() {
+        return fileImportMaxAttempts;
+    }
+
+    public Duration getRetryBaseDelay() {
+        return retryBaseDelay;
+    }
+
+    public Duration getRetryMaxDelay() {
+        return retryMaxDelay;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public int getRetryBudgetMax() {
+        return retryBudgetMax;
+    }
+
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public Duration getCircuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+
+    public int getMaxJobDeferrals() {
+        return maxJobDeferrals;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/IdempotencyConfig.java"
+package com.example.nasajonintegration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Value("${integration.idempotency.window:10m}")
+    private Duration window;
+
+    public Duration getWindow() {
+        return window;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/config/AppConfig.java"
+package com.example.nasajonintegration.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.channel.ChannelOption;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+@Configuration
+public class AppConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager nasajonConnectionManager(NasajonApiConfig apiConfig) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setMaxConnTotal(apiConfig.getPoolMaxTotal())
+                .setMaxConnPerRoute(apiConfig.getPoolMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(apiConfig.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(apiConfig.getReadTimeout()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(apiConfig.getPoolTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient nasajonHttpClient(PoolingHttpClientConnectionManager nasajonConnectionManager,
+                                                 NasajonApiConfig apiConfig) {
+        // Keep-alive connections are reused across calls; idle and expired ones are evicted in the background
+        return HttpClients.custom()
+                .setConnectionManager(nasajonConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(apiConfig.getPoolAcquireTimeout()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(apiConfig.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(apiConfig.getPoolIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient nasajonHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(nasajonHttpClient));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "nasajon.api.client", havingValue = "reactive")
+    public WebClient nasajonWebClient(NasajonApiConfig apiConfig, ObjectMapper objectMapper) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("nasajon")
+                .maxConnections(apiConfig.getPoolMaxTotal())
+                .pendingAcquireTimeout(Duration.ofMillis(apiConfig.getPoolAcquireTimeout()))
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(Duration.ofMillis(apiConfig.getPoolIdleEviction()))
+                .maxLifeTime(Duration.ofMillis(apiConfig.getPoolTimeToLive()))
+                .evictInBackground(Duration.ofMillis(apiConfig.getPoolIdleEviction()))
+                .build();
+        
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, apiConfig.getConnectTimeout())
+                .responseTimeout(Duration.ofMillis(apiConfig.getReadTimeout()));
+        if (apiConfig.getBaseUrl().startsWith("https")) {
+            // HTTP/2 is negotiated through ALPN, falling back to HTTP/1.1 keep-alive
+            httpClient = httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        
+        return WebClient.builder()
+                .baseUrl(apiConfig.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiConfig.getApiKey())
+                .defaultHeader("X-Client-Id", apiConfig.getClientId())
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+    }
+
+    @Bean
+    public ObjectMapper objectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    @Bean
+    public Executor taskExecutor(WorkerConfig workerConfig) {
+        if (workerConfig.isVirtualThreads()) {
+            // One virtual thread per job; upstream pressure is bounded by EndpointConcurrencyLimiter instead
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("NasajonIntegration-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerConfig.getCorePoolSize());
+        executor.setMaxPoolSize(workerConfig.getMaxPoolSize());
+        executor.setQueueCapacity(workerConfig.getQueueCapacity());
+        executor.setThreadNamePrefix("NasajonIntegration-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public OpenAPI customOpenAPI() {
+        return new OpenAPI()
+                .info(new Info()
+                        .title("Nasajon Integration API")
+                        .version("1.0.0")
+                        .description("API for integrating with Nasajon systems"));
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/resilience/EndpointConcurrencyLimiter.java"
+package com.example.nasajonintegration.resilience;
+
+import com.example.nasajonintegration.config.NasajonApiConfig;
+import com.example.nasajonintegration.exception.IntegrationException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive (AIMD) cap on concurrent calls per Nasajon endpoint. The limit starts at the
+ * configured concurrency and grows by roughly one slot per round trip while calls succeed
+ * at full utilisation. It is cut multiplicatively, at most once per round trip, when
+ * Nasajon answers 429 or 5xx, a call times out, or latency rises well above the observed
+ * baseline. Callers over the limit wait, so a struggling endpoint slows job dispatch down
+ * instead of failing jobs; the reactive client waits through {@link #executeAsync} without
+ * holding a thread. Limits are exported as {@code nasajon.api.concurrency.limit}.
+ */
+@Component
+public class EndpointConcurrencyLimiter {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final NasajonApiConfig apiConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EndpointConcurrencyLimiter(NasajonApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.apiConfig = apiConfig;
+        this.meterRegistry = meterRegistry;
+        register("/export", apiConfig.getExportConcurrency(), true);
+        register("/import", apiConfig.getImportConcurrency(), true);
+        // File upload latency scales with file size, so only error signals drive this limit
+        register("/import/file", apiConfig.getFileImportConcurrency(), false);
+    }
+
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        AdaptiveLimit limit = limitFor(endpoint);
+        
+        try {
+            limit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting for a " + endpoint + " slot", e);
+        }
+        
+        long started = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            overloaded = isOverload(e);
+            throw e;
+        } finally {
+            limit.release(System.nanoTime() - started, overloaded);
+        }
+    }
+
+    /**
+     * Subscribes to the call once the endpoint has a free slot, and frees the slot when the
+     * call completes, fails or is cancelled.
+     */
+    public <T> Mono<T> executeAsync(String endpoint, Supplier<Mono<T>> call) {
+        AdaptiveLimit limit = limitFor(endpoint);
+        return Mono.fromFuture(limit::acquireAsync)
+                .then(Mono.defer(() -> {
+                    long started = System.nanoTime();
+                    AtomicBoolean overloaded = new AtomicBoolean();
+                    return Mono.defer(call)
+                            .doOnError(e -> overloaded.set(isOverload(e)))
+                            .doFinally(signal -> limit.release(System.nanoTime() - started, overloaded.get()));
+                }));
+    }
+
+    public int availablePermits(String endpoint) {
+        AdaptiveLimit limit = limits.get(endpoint);
+        return limit != null ? limit.available() : DEFAULT_LIMIT;
+    }
+
+    public int currentLimit(String endpoint) {
+        AdaptiveLimit limit = limits.get(endpoint);
+        return limit != null ? limit.current() : DEFAULT_LIMIT;
+    }
+
+    static boolean isOverload(Throwable error) {
+        HttpStatusCode status = null;
+        if (error instanceof HttpStatusCodeException statusError) {
+            status = statusError.getStatusCode();
+        } else if (error instanceof WebClientResponseException responseError) {
+            status = responseError.getStatusCode();
+        }
+        if (status != null) {
+            return status.value() == 429 || status.is5xxServerError();
+        }
+        return error instanceof ResourceAccessException || error instanceof WebClientRequestException;
+    }
+
+    private AdaptiveLimit limitFor(String endpoint) {
+        return limits.computeIfAbsent(endpoint, key -> newLimit(key, DEFAULT_LIMIT, true));
+    }
+
+    private void register(String endpoint, int maxLimit, boolean latencyAware) {
+        limits.put(endpoint, newLimit(endpoint, maxLimit, latencyAware));
+    }
+
+    private AdaptiveLimit newLimit(String endpoint, int maxLimit, boolean latencyAware) {
+        AdaptiveLimit limit = new AdaptiveLimit(Math.min(apiConfig.getConcurrencyMinLimit(), maxLimit), maxLimit,
+                apiConfig.getConcurrencyBackoffRatio(), latencyAware ? apiConfig.getConcurrencyLatencyTolerance() : 0);
+        Gauge.builder("nasajon.api.concurrency.limit", limit, AdaptiveLimit::current)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("nasajon.api.concurrency.in-flight", limit, AdaptiveLimit::inFlight)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private static final class AdaptiveLimit {
+
+        // Lets the latency baseline follow an endpoint that became permanently slower
+        private static final double BASELINE_DRIFT = 1.01;
+
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Condition slotFreed = lock.newCondition();
+        private final Deque<CompletableFuture<Void>> asyncWaiters = new ArrayDeque<>();
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final double latencyTolerance;
+        private double limit;
+        private int inFlight;
+        private double baselineNanos;
+        private long lastDecreaseNanos;
+
+        private AdaptiveLimit(int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+            this.minLimit = Math.max(1, minLimit);
+            this.maxLimit = Math.max(this.minLimit, maxLimit);
+            this.backoffRatio = backoffRatio;
+            this.latencyTolerance = latencyTolerance;
+            this.limit = this.maxLimit;
+        }
+
+        private void acquire() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (inFlight >= (int) limit) {
+                    slotFreed.await();
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private CompletableFuture<Void> acquireAsync() {
+            lock.lock();
+            try {
+                if (inFlight < (int) limit && asyncWaiters.isEmpty()) {
+                    inFlight++;
+                    return CompletableFuture.completedFuture(null);
+                }
+                CompletableFuture<Void> waiter = new CompletableFuture<>();
+                asyncWaiters.addLast(waiter);
+                return waiter;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release(long latencyNanos, boolean overloaded) {
+            List<CompletableFuture<Void>> granted;
+            lock.lock();
+            try {
+                boolean saturated = inFlight >= (int) limit;
+                inFlight--;
+                
+                if (overloaded || isSlow(latencyNanos)) {
+                    long now = System.nanoTime();
+                    if (now - lastDecreaseNanos > latencyNanos) {
+                        limit = Math.max(minLimit, limit * backoffRatio);
+                        lastDecreaseNanos = now;
+                    }
+                } else if (saturated) {
+                    limit = Math.min(maxLimit, limit + 1.0 / limit);
+                }
+                granted = grantAsyncWaiters();
+                // The limit may have grown, so every waiter re-checks
+                slotFreed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            complete(granted);
+        }
+
+        // Slots are taken under the lock, but waiters are completed outside it since completing runs their calls
+        private List<CompletableFuture<Void>> grantAsyncWaiters() {
+            List<CompletableFuture<Void>> granted = new ArrayList<>();
+            while (inFlight < (int) limit && !asyncWaiters.isEmpty()) {
+                CompletableFuture<Void> waiter = asyncWaiters.pollFirst();
+                if (!waiter.isDone()) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+            return granted;
+        }
+
+        private void complete(List<CompletableFuture<Void>> granted) {
+            for (CompletableFuture<Void> waiter : granted) {
+                if (!waiter.complete(null)) {
+                    // Cancelled after its slot was taken
+                    returnSlot();
+                }
+            }
+        }
+
+        private void returnSlot() {
+            List<CompletableFuture<Void>> granted;
+            lock.lock();
+            try {
+                inFlight--;
+                granted = grantAsyncWaiters();
+                slotFreed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            complete(granted);
+        }
+
+        private boolean isSlow(long latencyNanos) {
+            if (latencyTolerance <= 0) {
+                return false;
+            }
+            boolean slow = baselineNanos > 0 && latencyNanos > baselineNanos * latencyTolerance;
+            baselineNanos = baselineNanos == 0 ? latencyNanos : Math.min(latencyNanos, baselineNanos * BASELINE_DRIFT);
+            return slow;
+        }
+
+        private int current() {
+            lock.lock();
+            try {
+                return (int) limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int inFlight() {
+            lock.lock();
+            try {
+                return inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int available() {
+            lock.lock();
+            try {
+                return Math.max(0, (int) limit - inFlight);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/resilience/RetryPolicy.java"
+package com.example.nasajonintegration.resilience;
+
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how patiently one Nasajon endpoint is retried. Idempotent calls are retried
+ * on any overload error (429, 5xx, I/O failures). Other calls may already have been applied
+ * when the error arrives, so they are retried only when Nasajon refused them (429, 503) or
+ * the connection was never established. Delays use full-jitter exponential backoff so
+ * callers that failed together do not retry together.
+ */
+final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    boolean isRetryable(Throwable error, boolean idempotent) {
+        if (idempotent) {
+            return EndpointConcurrencyLimiter.isOverload(error);
+        }
+        if (error instanceof HttpStatusCodeException statusError) {
+            int status = statusError.getStatusCode().value();
+            return status == 429 || status == 503;
+        }
+        return error instanceof ResourceAccessException && neverConnected(error);
+    }
+
+    private static boolean neverConnected(Throwable error) {
+        for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+                    || cause instanceof NoRouteToHostException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns how long to wait before the attempt after {@code attempt}, or {@code null}
+     * when the call should not be retried: attempts are used up, or Nasajon asked for a
+     * longer pause than {@code maxDelay}.
+     */
+    Duration backoff(int attempt, Throwable error) {
+        if (attempt >= maxAttempts) {
+            return null;
+        }
+        
+        long capMillis = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt - 1, 20));
+        long delayMillis = ThreadLocalRandom.current().nextLong(capMillis + 1);
+        
+        Duration retryAfter = retryAfter(error);
+        if (retryAfter != null) {
+            if (retryAfter.compareTo(maxDelay) > 0) {
+                return null;
+            }
+            delayMillis = Math.max(delayMillis, retryAfter.toMillis());
+        }
+        return Duration.ofMillis(delayMillis);
+    }
+
+    private static Duration retryAfter(Throwable error) {
+        if (!(error instanceof HttpStatusCodeException statusError) || statusError.getResponseHeaders() == null) {
+            return null;
+        }
+        
+        String value = statusError.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        try {
+            return value != null ? Duration.ofSeconds(Long.parseLong(value.trim())) : null;
+        } catch (NumberFormatException e) {
+            // HTTP-date form; fall back to our own backoff
+            return null;
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/resilience/CircuitBreaker.java"
+package com.example.nasajonintegration.resilience;
+
+import com.example.nasajonintegration.exception.CircuitOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker for one Nasajon endpoint. After
+ * {@code failureThreshold} failed calls in a row it opens and rejects calls with
+ * {@link CircuitOpenException} for {@code openDuration}. Then a single trial call is let
+ * through: success closes the circuit, failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+    }
+
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            long remaining = remainingOpenNanos();
+            if (remaining > 0) {
+                throw rejection(remaining);
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                throw rejection(openDuration.toNanos());
+            }
+            trialInFlight = true;
+        }
+    }
+
+    /**
+     * Rejects a retry if the circuit opened while the caller was backing off.
+     */
+    public synchronized void rejectIfOpen() {
+        if (state == State.OPEN && remainingOpenNanos() > 0) {
+            throw rejection(remainingOpenNanos());
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Circuit for Nasajon {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.OPEN || (state == State.CLOSED && consecutiveFailures < failureThreshold)) {
+            return;
+        }
+        
+        logger.warn("Circuit for Nasajon {} opened for {} after {} consecutive failures",
+                name, openDuration, consecutiveFailures);
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private long remainingOpenNanos() {
+        return openedAtNanos + openDuration.toNanos() - System.nanoTime();
+    }
+
+    private CircuitOpenException rejection(long remainingNanos) {
+        return new CircuitOpenException("Nasajon " + name + " is unavailable, circuit breaker is open",
+                Duration.ofNanos(remainingNanos));
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/resilience/ResilientCallExecutor.java"
+package com.example.nasajonintegration.resilience;
+
+import com.example.nasajonintegration.config.ResilienceConfig;
+import com.example.nasajonintegration.exception.IntegrationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs Nasajon calls through the endpoint's {@link CircuitBreaker}, {@link RetryPolicy} and
+ * {@link EndpointConcurrencyLimiter}. Overload errors are retried while the endpoint's retry
+ * budget allows, all of them for {@link #executeIdempotent} calls and only those where the
+ * request cannot have been applied for {@link #execute} calls (see {@link RetryPolicy}).
+ * Every call earns {@code budget-ratio} of a retry, so during an outage
+ * retries stay a bounded fraction of traffic instead of multiplying it. Calls that still
+ * fail count towards the breaker; once it is open, calls fail fast with
+ * {@link com.example.nasajonintegration.exception.CircuitOpenException} and never reach
+ * the limiter. Retries are exported as {@code nasajon.api.retries} and breaker states as
+ * {@code nasajon.api.circuit.state} (0 closed, 1 half-open, 2 open).
+ */
+@Component
+public class ResilientCallExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientCallExecutor.class);
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final EndpointConcurrencyLimiter concurrencyLimiter;
+    private final ResilienceConfig resilienceConfig;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointGuard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResilientCallExecutor(EndpointConcurrencyLimiter concurrencyLimiter, ResilienceConfig resilienceConfig,
+                                 MeterRegistry meterRegistry) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.resilienceConfig = resilienceConfig;
+        this.meterRegistry = meterRegistry;
+        register("/export", resilienceConfig.getExportMaxAttempts());
+        register("/import", resilienceConfig.getImportMaxAttempts());
+        register("/import/file", resilienceConfig.getFileImportMaxAttempts());
+    }
+
+    /**
+     * Runs a call that must not be repeated once Nasajon may have received it, such as a
+     * POST creating an import or export.
+     */
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        return execute(endpoint, false, call);
+    }
+
+    /**
+     * Runs a call that can safely be repeated, such as a part PUT or a page read.
+     */
+    public <T> T executeIdempotent(String endpoint, Supplier<T> call) {
+        return execute(endpoint, true, call);
+    }
+
+    private <T> T execute(String endpoint, boolean idempotent, Supplier<T> call) {
+        EndpointGuard guard = guards.computeIfAbsent(endpoint, key -> newGuard(key, DEFAULT_MAX_ATTEMPTS));
+        guard.breaker().acquirePermission();
+        guard.budget().deposit();
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = concurrencyLimiter.execute(endpoint, call);
+                guard.breaker().onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (!EndpointConcurrencyLimiter.isOverload(e)) {
+                    // Nasajon answered, so the endpoint itself is healthy
+                    guard.breaker().onSuccess();
+                    throw e;
+                }
+                
+                Duration delay = guard.policy().isRetryable(e, idempotent) ? guard.policy().backoff(attempt, e) : null;
+                if (delay == null || !guard.budget().tryWithdraw()) {
+                    guard.breaker().onFailure();
+                    throw e;
+                }
+                
+                guard.retries().increment();
+                logger.warn("Nasajon {} call failed on attempt {}, retrying in {} ms: {}",
+                        endpoint, attempt, delay.toMillis(), e.getMessage());
+                backOff(guard, endpoint, delay);
+                guard.breaker().rejectIfOpen();
+            }
+        }
+    }
+
+    private void backOff(EndpointGuard guard, String endpoint, Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Settles a half-open trial so the breaker does not wait on it forever
+            guard.breaker().onFailure();
+            throw new IntegrationException("Interrupted while retrying a " + endpoint + " call", e);
+        }
+    }
+
+    private void register(String endpoint, int maxAttempts) {
+        guards.put(endpoint, newGuard(endpoint, maxAttempts));
+    }
+
+    private EndpointGuard newGuard(String endpoint, int maxAttempts) {
+        EndpointGuard guard = new EndpointGuard(
+                new RetryPolicy(maxAttempts, resilienceConfig.getRetryBaseDelay(), resilienceConfig.getRetryMaxDelay()),
+                new RetryBudget(resilienceConfig.getRetryBudgetRatio(), resilienceConfig.getRetryBudgetMax()),
+                new CircuitBreaker(endpoint, resilienceConfig.getCircuitFailureThreshold(),
+                        resilienceConfig.getCircuitOpenDuration()),
+                Counter.builder("nasajon.api.retries").tag("endpoint", endpoint).register(meterRegistry));
+        Gauge.builder("nasajon.api.circuit.state", guard.breaker(), breaker -> breaker.state().ordinal())
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return guard;
+    }
+
+    private record EndpointGuard(RetryPolicy policy, RetryBudget budget, CircuitBreaker breaker, Counter retries) {
+    }
+
+    private static final class RetryBudget {
+
+        private final double ratio;
+        private final double max;
+        private double tokens;
+
+        private RetryBudget(double ratio, int max) {
+            this.ratio = ratio;
+            this.max = Math.max(1, max);
+            this.tokens = this.max;
+        }
+
+        private synchronized void deposit() {
+            tokens = Math.min(max, tokens + ratio);
+        }
+
+        private synchronized boolean tryWithdraw() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/dto/ExportRequest.java"
+package com.example.nasajonintegration.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class ExportRequest {
+    private String entityType;
+    private List<String> entityIds;
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    private Map<String, Object> filters;
+    private String format;
+    private boolean includeRelated;
+
+    // Getters and setters
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public List<String> getEntityIds() {
+        return entityIds;
+    }
+
+    public void setEntityIds(List<String> entityIds) {
+        this.entityIds = entityIds;
+    }
+
+    public LocalDateTime getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDateTime fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDateTime getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDateTime toDate) {
+        this.toDate = toDate;
+    }
+
+    public Map<String, Object> getFilters() {
+        return filters;
+    }
+
+    public void setFilters(Map<String, Object> filters) {
+        this.filters = filters;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public boolean isIncludeRelated() {
+        return includeRelated;
+    }
+
+    public void setIncludeRelated(boolean includeRelated) {
+        this.includeRelated = includeRelated;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportRequest{" +
+                "entityType='" + entityType + '\'' +
+                ", entityIds=" + entityIds +
+                ", fromDate=" + fromDate +
+                ", toDate=" + toDate +
+                ", filters=" + filters +
+                ", format='" + format + '\'' +
+                ", includeRelated=" + includeRelated +
+                '}';
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/dto/ImportRequest.java"
+package com.example.nasajonintegration.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class ImportRequest {
+    private String entityType;
+    private String sourceType;
+    private String sourceId;
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    private Map<String, Object> filters;
+    private boolean overwriteExisting;
+    private boolean validateOnly;
+    private boolean incremental;
+
+    // Getters and setters
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getSourceType() {
+        return sourceType;
+    }
+
+    public void setSourceType(String sourceType) {
+        this.sourceType = sourceType;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(String sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public LocalDateTime getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDateTime fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDateTime getToDate() {
+        return toDate;
+    }
 
     public void setToDate(LocalDateTime toDate) {
         this.toDate = toDate;
     }
 
-    public Map<String, Object> getFilters() {
-        return filters;
+    public Map<String, Object> getFilters() {
+        return filters;
+    }
+
+    public void setFilters(Map<String, Object> filters) {
+        this.filters = filters;
+    }
+
+    public boolean isOverwriteExisting() {
+        return overwriteExisting;
+    }
+
+    public void setOverwriteExisting(boolean overwriteExisting) {
+        this.overwriteExisting = overwriteExisting;
+    }
+
+    public boolean isValidateOnly() {
+        return validateOnly;
+    }
+
+    public void setValidateOnly(boolean validateOnly) {
+        this.validateOnly = validateOnly;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportRequest{" +
+                "entityType='" + entityType + '\'' +
+                ", sourceType='" + sourceType + '\'' +
+                ", sourceId='" + sourceId + '\'' +
+                ", fromDate=" + fromDate +
+                ", toDate=" + toDate +
+                ", filters=" + filters +
+                ", overwriteExisting=" + overwriteExisting +
+                ", validateOnly=" + validateOnly +
+                ", incremental=" + incremental +
+                '}';
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/dto/FileImportRequest.java"
+package com.example.nasajonintegration.dto;
+
+public class FileImportRequest {
+    private String fileName;
+    private String contentType;
+    private String type;
+    private String stagingKey;
+    private long size;
+    private String entityType;
+    private boolean validateOnly;
+
+    public FileImportRequest() {
+    }
+
+    public FileImportRequest(String fileName, String contentType, String type, String stagingKey, long size) {
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.type = type;
+        this.stagingKey = stagingKey;
+        this.size = size;
+    }
+
+    // Getters and setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStagingKey() {
+        return stagingKey;
+    }
+
+    public void setStagingKey(String stagingKey) {
+        this.stagingKey = stagingKey;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public boolean isValidateOnly() {
+        return validateOnly;
+    }
+
+    public void setValidateOnly(boolean validateOnly) {
+        this.validateOnly = validateOnly;
+    }
+
+    @Override
+    public String toString() {
+        return "FileImportRequest{" +
+                "fileName='" + fileName + '\'' +
+                ", contentType='" + contentType + '\'' +
+                ", type='" + type + '\'' +
+                ", stagingKey='" + stagingKey + '\'' +
+                ", size=" + size +
+                ", entityType='" + entityType + '\'' +
+                ", validateOnly=" + validateOnly +
+                '}';
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/dto/IntegrationResponse.java"
+package com.example.nasajonintegration.dto;
+
+import com.example.nasajonintegration.model.JobStatusView;
+
+public class IntegrationResponse {
+    private String jobId;
+    private String status;
+    private String message;
+    private String completedAt;
+    private Integer progressCurrent;
+    private Integer progressTotal;
+
+    public IntegrationResponse() {
+    }
+
+    public IntegrationResponse(String jobId, String status, String message) {
+        this.jobId = jobId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public IntegrationResponse(String jobId, String status, String message, String completedAt) {
+        this.jobId = jobId;
+        this.status = status;
+        this.message = message;
+        this.completedAt = completedAt;
+    }
+
+    public static IntegrationResponse from(JobStatusView view) {
+        IntegrationResponse response = new IntegrationResponse(
+                view.getJobId(),
+                view.getStatus().name(),
+                view.getResultMessage(),
+                view.getCompletedAt() != null ? view.getCompletedAt().toString() : null
+        );
+        response.setProgressCurrent(view.getProgressCurrent());
+        response.setProgressTotal(view.getProgressTotal());
+        return response;
+    }
+
+    // Getters and setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(String completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Integer getProgressCurrent() {
+        return progressCurrent;
+    }
+
+    public void setProgressCurrent(Integer progressCurrent) {
+        this.progressCurrent = progressCurrent;
+    }
+
+    public Integer getProgressTotal() {
+        return progressTotal;
+    }
+
+    public void setProgressTotal(Integer progressTotal) {
+        this.progressTotal = progressTotal;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/IntegrationJob.java"
+package com.example.nasajonintegration.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Job state row. The request and result payloads live in {@link IntegrationJobPayload} so
+ * status reads and scheduler scans do not drag large TEXT values along; they are carried
+ * in memory while a job runs and loaded explicitly when a job has to be resubmitted.
+ */
+@Entity
+@Table(name = "integration_jobs", indexes = {
+        @Index(name = "idx_integration_jobs_status_heartbeat", columnList = "status, heartbeatAt"),
+        @Index(name = "idx_integration_jobs_status_created_at", columnList = "status, createdAt"),
+        @Index(name = "uk_integration_jobs_idempotency_key", columnList = "idempotencyKey", unique = true)
+})
+public class IntegrationJob {
+
+    @Id
+    private String jobId;
+    
+    @Column(nullable = false)
+    private String type;
+    
+    private String entityType;
+    
+    @Enumerated(EnumType.STRING)
+    private JobClass jobClass;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+    
+    @Transient
+    private String requestData;
+    
+    @Transient
+    private String resultData;
+    
+    @Column(columnDefinition = "TEXT")
+    private String resultMessage;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime completedAt;
+    
+    private LocalDateTime heartbeatAt;
+    
+    private String leaseOwner;
+    
+    private LocalDateTime leaseExpiresAt;
+    
+    @Column(length = 64)
+    private String stagingKey;
+    
+    private String stagingNode;
+    
+    private String uploadId;
+    
+    private Integer progressCurrent;
+    
+    private Integer progressTotal;
+    
+    private Integer retryCount;
+    
+    @Column(length = 64)
+    private String idempotencyKey;
+
+    // Getters and setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public JobClass getJobClass() {
+        return jobClass;
+    }
+
+    public void setJobClass(JobClass jobClass) {
+        this.jobClass = jobClass;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public String getRequestData() {
+        return requestData;
+    }
+
+    public void setRequestData(String requestData) {
+        this.requestData = requestData;
+    }
+
+    public String getResultData() {
+        return resultData;
+    }
+
+    public void setResultData(String resultData) {
+        this.resultData = resultData;
+    }
+
+    public String getResultMessage() {
+        return resultMessage;
+    }
+
+    public void setResultMessage(String resultMessage) {
+        this.resultMessage = resultMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getStagingKey() {
+        return stagingKey;
+    }
+
+    public void setStagingKey(String stagingKey) {
+        this.stagingKey = stagingKey;
+    }
+
+    public String getStagingNode() {
+        return stagingNode;
+    }
+
+    public void setStagingNode(String stagingNode) {
+        this.stagingNode = stagingNode;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Integer getProgressCurrent() {
+        return progressCurrent;
+    }
+
+    public void setProgressCurrent(Integer progressCurrent) {
+        this.progressCurrent = progressCurrent;
+    }
+
+    public Integer getProgressTotal() {
+        return progressTotal;
+    }
+
+    public void setProgressTotal(Integer progressTotal) {
+        this.progressTotal = progressTotal;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public Integer getRetryCount() {
+        return retryCount;
+    }
+
+    public void setRetryCount(Integer retryCount) {
+        this.retryCount = retryCount;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/IntegrationJobPayload.java"
+package com.example.nasajonintegration.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "integration_job_payloads")
+public class IntegrationJobPayload {
+
+    @Id
+    private String jobId;
+    
+    @Column(columnDefinition = "TEXT")
+    private String requestData;
+    
+    @Column(columnDefinition = "TEXT")
+    private String resultData;
+
+    // Getters and setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getRequestData() {
+        return requestData;
+    }
+
+    public void setRequestData(String requestData) {
+        this.requestData = requestData;
+    }
+
+    public String getResultData() {
+        return resultData;
+    }
+
+    public void setResultData(String resultData) {
+        this.resultData = resultData;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/JobStatusView.java"
+package com.example.nasajonintegration.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight, immutable view of a job's state without its request and result payloads.
+ */
+public class JobStatusView {
+    private final String jobId;
+    private final String type;
+    private final JobStatus status;
+    private final String resultMessage;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime completedAt;
+    private final Integer progressCurrent;
+    private final Integer progressTotal;
+
+    public JobStatusView(String jobId, String type, JobStatus status, String resultMessage, LocalDateTime createdAt,
+                         LocalDateTime startedAt, LocalDateTime completedAt, Integer progressCurrent,
+                         Integer progressTotal) {
+        this.jobId = jobId;
+        this.type = type;
+        this.status = status;
+        this.resultMessage = resultMessage;
+        this.createdAt = createdAt;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+        this.progressCurrent = progressCurrent;
+        this.progressTotal = progressTotal;
+    }
+
+    public static JobStatusView from(IntegrationJob job) {
+        return new JobStatusView(job.getJobId(), job.getType(), job.getStatus(), job.getResultMessage(),
+                job.getCreatedAt(), job.getStartedAt(), job.getCompletedAt(), job.getProgressCurrent(),
+                job.getProgressTotal());
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public String getResultMessage() {
+        return resultMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public Integer getProgressCurrent() {
+        return progressCurrent;
+    }
+
+    public Integer getProgressTotal() {
+        return progressTotal;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/FileUploadPart.java"
+package com.example.nasajonintegration.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "file_upload_parts", indexes = @Index(name = "idx_file_upload_parts_job_id", columnList = "jobId"))
+public class FileUploadPart {
+
+    @Id
+    private String partId;
+    
+    @Column(nullable = false)
+    private String jobId;
+    
+    @Column(nullable = false)
+    private int partNumber;
+    
+    @Column(nullable = false)
+    private long size;
+    
+    @Column(nullable = false, length = 64)
+    private String checksum;
+    
+    @Column(nullable = false)
+    private LocalDateTime acknowledgedAt;
+
+    public FileUploadPart() {
+    }
+
+    public FileUploadPart(String jobId, int partNumber, long size, String checksum) {
+        this.partId = jobId + ":" + partNumber;
+        this.jobId = jobId;
+        this.partNumber = partNumber;
+        this.size = size;
+        this.checksum = checksum;
+        this.acknowledgedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public String getPartId() {
+        return partId;
+    }
+
+    public void setPartId(String partId) {
+        this.partId = partId;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getPartNumber() {
+        return partNumber;
+    }
+
+    public void setPartNumber(int partNumber) {
+        this.partNumber = partNumber;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public LocalDateTime getAcknowledgedAt() {
+        return acknowledgedAt;
+    }
+
+    public void setAcknowledgedAt(LocalDateTime acknowledgedAt) {
+        this.acknowledgedAt = acknowledgedAt;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/ImportWatermark.java"
+package com.example.nasajonintegration.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of incremental imports for one entity type and source: the end of the
+ * last window that was imported successfully.
+ */
+@Entity
+@Table(name = "import_watermarks")
+public class ImportWatermark {
+
+    @Id
+    private String watermarkId;
+    
+    @Column(nullable = false)
+    private String entityType;
+    
+    @Column(nullable = false)
+    private String sourceId;
+    
+    @Column(nullable = false)
+    private LocalDateTime highWaterMark;
+    
+    private String lastJobId;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public static String idFor(String entityType, String sourceId) {
+        return entityType + ":" + (sourceId != null ? sourceId : "");
+    }
+
+    // Getters and setters
+    public String getWatermarkId() {
+        return watermarkId;
+    }
+
+    public void setWatermarkId(String watermarkId) {
+        this.watermarkId = watermarkId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(String sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public LocalDateTime getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(LocalDateTime highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public String getLastJobId() {
+        return lastJobId;
+    }
+
+    public void setLastJobId(String lastJobId) {
+        this.lastJobId = lastJobId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/ImportRecordHash.java"
+package com.example.nasajonintegration.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Content hash of the last imported version of one record, used to skip unchanged
+ * records on the next import. Written and read in bulk through
+ * {@link com.example.nasajonintegration.repository.ImportRecordHashJdbcRepository}.
+ */
+@Entity
+@Table(name = "import_record_hashes")
+public class ImportRecordHash {
+
+    // entityType:sourceId:recordKey, so lookups are primary-key probes
+    @Id
+    @Column(length = 512)
+    private String hashId;
+    
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and setters
+    public String getHashId() {
+        return hashId;
+    }
+
+    public void setHashId(String hashId) {
+        this.hashId = hashId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/ImportedRecord.java"
+package com.example.nasajonintegration.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A record imported from Nasajon, kept as the JSON it was received in.
+ */
+@Entity
+@Table(name = "imported_records", indexes = @Index(name = "idx_imported_records_entity_type", columnList = "entityType, sourceId"))
+public class ImportedRecord {
+
+    // entityType:sourceId:recordKey, or a random suffix for records without an ID
+    @Id
+    @Column(length = 512)
+    private String recordId;
+    
+    @Column(nullable = false)
+    private String entityType;
+    
+    @Column(nullable = false)
+    private String sourceId;
+    
+    private String recordKey;
+    
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+    
+    private String jobId;
+    
+    @Column(nullable = false)
+    private LocalDateTime importedAt;
+
+    public static String idFor(String entityType, String sourceId, String recordKey) {
+        return entityType + ":" + (sourceId != null ? sourceId : "") + ":" + recordKey;
+    }
+
+    // Getters and setters
+    public String getRecordId() {
+        return recordId;
+    }
+
+    public void setRecordId(String recordId) {
+        this.recordId = recordId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public void setSourceId(String sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public String getRecordKey() {
+        return recordKey;
+    }
+
+    public void setRecordKey(String recordKey) {
+        this.recordKey = recordKey;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public LocalDateTime getImportedAt() {
+        return importedAt;
+    }
+
+    public void setImportedAt(LocalDateTime importedAt) {
+        this.importedAt = importedAt;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/JobStatus.java"
+package com.example.nasajonintegration.model;
+
+public enum JobStatus {
+    PENDING,
+    PROCESSING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/JobClass.java"
+package com.example.nasajonintegration.model;
+
+/**
+ * Scheduling class of a job, in priority order.
+ */
+public enum JobClass {
+    INTERACTIVE,
+    BULK
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/IntegrationJobRepository.java"
+package com.example.nasajonintegration.repository;
+
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.model.JobStatusView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IntegrationJobRepository extends JpaRepository<IntegrationJob, String> {
+
+    String STATUS_VIEW = "select new com.example.nasajonintegration.model.JobStatusView(j.jobId, j.type, j.status, "
+            + "j.resultMessage, j.createdAt, j.startedAt, j.completedAt, j.progressCurrent, j.progressTotal) "
+            + "from IntegrationJob j ";
+
+    List<IntegrationJob> findByStatus(JobStatus status);
+    List<IntegrationJob> findByTypeAndStatus(String type, JobStatus status);
+    List<IntegrationJob> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+    boolean existsByStagingKeyAndStatusIn(String stagingKey, Collection<JobStatus> statuses);
+
+    @Query(STATUS_VIEW + "where j.jobId = :jobId")
+    Optional<JobStatusView> findStatusViewById(@Param("jobId") String jobId);
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/IntegrationJobPayloadRepository.java"
+package com.example.nasajonintegration.repository;
+
+import com.example.nasajonintegration.model.IntegrationJobPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IntegrationJobPayloadRepository extends JpaRepository<IntegrationJobPayload, String> {
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/IntegrationJobJdbcRepository.java"
+package com.example.nasajonintegration.repository;
+
+import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.model.JobClass;
+import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.model.JobStatusView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Set-based and batched writes on {@code integration_jobs} and {@code integration_job_payloads}
+ * that bypass the JPA persistence context (no select-before-insert, no per-entity merge).
+ */
+@Repository
+public class IntegrationJobJdbcRepository {
+
+    // Both rows are written by one statement, so a job never exists without its payload
+    private static final String INSERT_SQL =
+            "WITH payload AS (INSERT INTO integration_job_payloads (job_id, request_data, result_data) VALUES (?, ?, ?)) "
+                    + "INSERT INTO integration_jobs (job_id, type, entity_type, job_class, status, result_message, "
+                    + "created_at, started_at, completed_at, heartbeat_at, staging_key, staging_node, upload_id, "
+                    + "progress_current, progress_total, retry_count, idempotency_key) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // heartbeat_at only moves forward, so a late journal flush never hides a newer heartbeat.
+    // Only the current holder may write, and only while the job is open: a flush arriving after
+    // the stuck-job check failed the job, or after it was requeued or deferred and leased again,
+    // matches no row and is dropped
+    private static final String UPDATE_STATE_SQL =
+            "UPDATE integration_jobs SET status = ?, result_message = ?, started_at = ?, completed_at = ?, "
+                    + "heartbeat_at = GREATEST(heartbeat_at, ?), upload_id = ?, progress_current = ?, "
+                    + "progress_total = ?, retry_count = COALESCE(?, retry_count) WHERE job_id = ? "
+                    + "AND status IN ('PENDING', 'PROCESSING') AND lease_owner IS NOT DISTINCT FROM ?";
+
+    // Deferred jobs have no owner, so a late heartbeat cannot pull their not-before time forward
+    private static final String HEARTBEAT_SQL =
+            "UPDATE integration_jobs SET heartbeat_at = GREATEST(heartbeat_at, ?), lease_expires_at = ? "
+                    + "WHERE job_id = ANY (?) AND lease_owner IS NOT NULL";
+
+    // Concurrent pollers skip each other's locked rows instead of waiting on them;
+    // jobs created before scheduling classes existed are treated as interactive, and jobs
+    // reading a file staged on one node's disk are only leased by that node
+    private static final String LEASE_SQL =
+            "UPDATE integration_jobs j SET lease_owner = ?, lease_expires_at = ? "
+                    + "FROM integration_job_payloads p "
+                    + "WHERE p.job_id = j.job_id AND j.job_id IN ("
+                    + "SELECT job_id FROM integration_jobs WHERE status = 'PENDING' "
+                    + "AND COALESCE(job_class, 'INTERACTIVE') = ? "
+                    + "AND (lease_expires_at IS NULL OR lease_expires_at < ?) "
+                    + "AND (staging_node IS NULL OR staging_node = ?) "
+                    + "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING j.job_id, j.type, j.entity_type, j.job_class, j.status, j.result_message, "
+                    + "j.created_at, j.started_at, j.completed_at, j.heartbeat_at, j.staging_key, j.staging_node, j.upload_id, "
+                    + "j.progress_current, j.progress_total, j.retry_count, j.lease_owner, j.lease_expires_at, "
+                    + "p.request_data, p.result_data";
+
+    private static final String RELEASE_LEASE_SQL =
+            "UPDATE integration_jobs SET lease_owner = NULL, lease_expires_at = NULL "
+                    + "WHERE job_id = ? AND lease_owner = ? AND status = 'PENDING'";
+
+    // Counting stops at the limit, so a huge backlog never costs more than the threshold
+    private static final String COUNT_PENDING_SQL =
+            "SELECT count(*) FROM (SELECT 1 FROM integration_jobs WHERE status = 'PENDING' LIMIT ?) pending";
+
+    private static final String REQUEUE_SQL =
+            "UPDATE integration_jobs SET status = 'PENDING', result_message = NULL, started_at = NULL, "
+                    + "completed_at = NULL, lease_owner = NULL, lease_expires_at = NULL, "
+                    + "retry_count = COALESCE(retry_count, 0) + 1 "
+                    + "WHERE job_id = ? AND status IN ('FAILED', 'CANCELLED')";
+
+    // An unowned lease_expires_at in the future keeps the job out of LEASE_SQL until then
+    private static final String DEFER_SQL =
+            "UPDATE integration_jobs SET status = 'PENDING', result_message = ?, started_at = NULL, "
+                    + "lease_owner = NULL, lease_expires_at = ?, upload_id = ?, progress_current = ?, "
+                    + "progress_total = ?, retry_count = ? WHERE job_id = ? AND status IN ('PENDING', 'PROCESSING')";
+
+    // Served by idx_integration_jobs_status_heartbeat; jobs that never sent a heartbeat are matched by creation time
+    private static final String FAIL_STALE_SQL =
+            "UPDATE integration_jobs SET status = 'FAILED', result_message = ?, completed_at = ? "
+                    + "WHERE status = 'PROCESSING' AND (heartbeat_at < ? OR (heartbeat_at IS NULL AND created_at < ?)) "
+                    + "RETURNING job_id, type, status, result_message, created_at, started_at, completed_at, "
+                    + "progress_current, progress_total";
+
+    // Each call removes at most one chunk, payloads included, in its own short transaction
+    private static final String DELETE_EXPIRED_SQL =
+            "WITH expired AS (SELECT job_id FROM integration_jobs WHERE status IN ('COMPLETED', 'FAILED') "
+                    + "AND created_at < ? LIMIT ?), "
+                    + "payloads AS (DELETE FROM integration_job_payloads WHERE job_id IN (SELECT job_id FROM expired)) "
+                    + "DELETE FROM integration_jobs WHERE job_id IN (SELECT job_id FROM expired)";
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT child.relname, child.reltuples FROM pg_inherits "
+                    + "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent "
+                    + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+                    + "WHERE parent.relname = 'integration_jobs'";
+
+    private static final String FIND_BY_IDEMPOTENCY_KEY_SQL =
+            "SELECT job_id FROM integration_jobs WHERE idempotency_key = ? LIMIT 1";
+
+    // Only the job that still holds the key releases it, so a newer holder is never cleared
+    private static final String RELEASE_IDEMPOTENCY_KEY_SQL =
+            "UPDATE integration_jobs SET idempotency_key = NULL WHERE idempotency_key = ? AND job_id = ?";
+
+    private static final String DELETE_PAYLOADS_SQL =
+            "DELETE FROM integration_job_payloads WHERE job_id = ANY (?)";
+
+    private static final RowMapper<IntegrationJob> LEASED_JOB_MAPPER = (rs, rowNum) -> {
+        IntegrationJob job = new IntegrationJob();
+        job.setJobId(rs.getString("job_id"));
+        job.setType(rs.getString("type"));
+        job.setEntityType(rs.getString("entity_type"));
+        job.setJobClass(rs.getString("job_class") != null ? JobClass.valueOf(rs.getString("job_class")) : JobClass.INTERACTIVE);
+        job.setStatus(JobStatus.valueOf(rs.getString("status")));
+        job.setResultMessage(rs.getString("result_message"));
+        job.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        job.setStartedAt(rs.getObject("started_at", LocalDateTime.class));
+        job.setCompletedAt(rs.getObject("completed_at", LocalDateTime.class));
+        job.setHeartbeatAt(rs.getObject("heartbeat_at", LocalDateTime.class));
+        job.setStagingKey(rs.getString("staging_key"));
+        job.setStagingNode(rs.getString("staging_node"));
+        job.setUploadId(rs.getString("upload_id"));
+        job.setProgressCurrent(rs.getObject("progress_current", Integer.class));
+        job.setProgressTotal(rs.getObject("progress_total", Integer.class));
+        job.setRetryCount(rs.getObject("retry_count", Integer.class));
+        job.setLeaseOwner(rs.getString("lease_owner"));
+        job.setLeaseExpiresAt(rs.getObject("lease_expires_at", LocalDateTime.class));
+        job.setRequestData(rs.getString("request_data"));
+        job.setResultData(rs.getString("result_data"));
+        return job;
+    };
+
+    private static final RowMapper<JobStatusView> STATUS_VIEW_MAPPER = (rs, rowNum) -> new JobStatusView(
+            rs.getString("job_id"),
+            rs.getString("type"),
+            JobStatus.valueOf(rs.getString("status")),
+            rs.getString("result_message"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("started_at", LocalDateTime.class),
+            rs.getObject("completed_at", LocalDateTime.class),
+            rs.getObject("progress_current", Integer.class),
+            rs.getObject("progress_total", Integer.class));
+
+    // Same guard as UPDATE_STATE_SQL, so a late flush cannot replace the result either
+    private static final String UPDATE_RESULT_SQL =
+            "UPDATE integration_job_payloads p SET result_data = ? WHERE p.job_id = ? AND EXISTS ("
+                    + "SELECT 1 FROM integration_jobs j WHERE j.job_id = p.job_id "
+                    + "AND j.status IN ('PENDING', 'PROCESSING') AND j.lease_owner IS NOT DISTINCT FROM ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IntegrationJobJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(IntegrationJob job) {
+        jdbcTemplate.update(INSERT_SQL,
+                job.getJobId(),
+                job.getRequestData(),
+                job.getResultData(),
+                job.getJobId(),
+                job.getType(),
+                job.getEntityType(),
+                job.getJobClass() != null ? job.getJobClass().name() : null,
+                job.getStatus().name(),
+                job.getResultMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getCompletedAt(),
+                job.getHeartbeatAt(),
+                job.getStagingKey(),
+                job.getStagingNode(),
+                job.getUploadId(),
+                job.getProgressCurrent(),
+                job.getProgressTotal(),
+                job.getRetryCount(),
+                job.getIdempotencyKey());
+    }
+
+    public int[] batchUpdate(Collection<IntegrationJob> jobs) {
+        List<Object[]> results = jobs.stream()
+                .filter(job -> job.getResultData() != null)
+                .map(job -> new Object[]{job.getResultData(), job.getJobId(), job.getLeaseOwner()})
+                .toList();
+        if (!results.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_RESULT_SQL, results);
+        }
+        
+        List<Object[]> rows = jobs.stream()
+                .map(job -> new Object[]{
+                        job.getStatus().name(),
+                        job.getResultMessage(),
+                        job.getStartedAt(),
+                        job.getCompletedAt(),
+                        job.getHeartbeatAt(),
+                        job.getUploadId(),
+                        job.getProgressCurrent(),
+                        job.getProgressTotal(),
+                        job.getRetryCount(),
+                        job.getJobId(),
+                        job.getLeaseOwner()})
+                .toList();
+        return jdbcTemplate.batchUpdate(UPDATE_STATE_SQL, rows);
+    }
+
+    public int heartbeat(Collection<String> jobIds, LocalDateTime heartbeatAt, LocalDateTime leaseExpiresAt) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(HEARTBEAT_SQL);
+            statement.setObject(1, heartbeatAt);
+            statement.setObject(2, leaseExpiresAt);
+            statement.setArray(3, connection.createArrayOf("varchar", jobIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Leases up to {@code limit} of the oldest pending jobs of a class whose lease is free
+     * or expired, and whose staged file, if any, is on {@code stagingNode}, and returns
+     * them with their payloads.
+     */
+    public List<IntegrationJob> lease(String owner, String stagingNode, JobClass jobClass, LocalDateTime now,
+                                      LocalDateTime leaseExpiresAt, int limit) {
+        return jdbcTemplate.query(LEASE_SQL, LEASED_JOB_MAPPER, owner, leaseExpiresAt, jobClass.name(), now, stagingNode,
+                limit);
+    }
+
+    public boolean releaseLease(String jobId, String owner) {
+        return jdbcTemplate.update(RELEASE_LEASE_SQL, jobId, owner) > 0;
+    }
+
+    public boolean requeue(String jobId) {
+        return jdbcTemplate.update(REQUEUE_SQL, jobId) > 0;
+    }
+
+    /**
+     * Returns a running job to the queue without an owner, to be leased again once
+     * {@code leaseExpiresAt} has passed.
+     */
+    public boolean defer(IntegrationJob job) {
+        return jdbcTemplate.update(DEFER_SQL,
+                job.getResultMessage(),
+                job.getLeaseExpiresAt(),
+                job.getUploadId(),
+                job.getProgressCurrent(),
+                job.getProgressTotal(),
+                job.getRetryCount(),
+                job.getJobId()) > 0;
     }
 
-    public void setFilters(Map<String, Object> filters) {
-        this.filters = filters;
+    public Optional<String> findJobIdByIdempotencyKey(String idempotencyKey) {
+        return jdbcTemplate.queryForList(FIND_BY_IDEMPOTENCY_KEY_SQL, String.class, idempotencyKey).stream().findFirst();
     }
 
-    public boolean isOverwriteExisting() {
-        return overwriteExisting;
+    public boolean releaseIdempotencyKey(String idempotencyKey, String jobId) {
+        return jdbcTemplate.update(RELEASE_IDEMPOTENCY_KEY_SQL, idempotencyKey, jobId) > 0;
+    }
+
+    public long countPending(int limit) {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING_SQL, Long.class, limit);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Fails every running job whose last heartbeat is older than the cutoff in a single
+     * statement and returns the state the reclaimed jobs were left in.
+     */
+    public List<JobStatusView> failStaleJobs(LocalDateTime cutoff, String message, LocalDateTime completedAt) {
+        return jdbcTemplate.query(FAIL_STALE_SQL, STATUS_VIEW_MAPPER, message, completedAt, cutoff, cutoff);
+    }
+
+    public int deleteExpired(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, cutoff, limit);
+    }
+
+    /**
+     * Returns the partitions of {@code integration_jobs} with their estimated row counts,
+     * or an empty map when the table is not partitioned.
+     */
+    public Map<String, Long> listPartitions() {
+        Map<String, Long> partitions = new TreeMap<>();
+        jdbcTemplate.query(LIST_PARTITIONS_SQL, rs -> {
+            partitions.put(rs.getString("relname"), Math.max(0L, (long) rs.getFloat("reltuples")));
+        });
+        return partitions;
+    }
+
+    public void createMonthlyPartition(String partition, LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF integration_jobs "
+                + "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    /**
+     * Deletes the payloads of one partition's jobs in chunks, walking the partition's
+     * primary key so every chunk starts where the previous one ended.
+     */
+    public long deletePartitionPayloads(String partition, int chunkSize) {
+        String selectSql = "SELECT job_id FROM " + partition + " WHERE job_id > ? ORDER BY job_id LIMIT ?";
+        long deleted = 0;
+        String lastJobId = "";
+        
+        while (true) {
+            List<String> jobIds = jdbcTemplate.queryForList(selectSql, String.class, lastJobId, chunkSize);
+            if (jobIds.isEmpty()) {
+                return deleted;
+            }
+            deleted += jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(DELETE_PAYLOADS_SQL);
+                statement.setArray(1, connection.createArrayOf("varchar", jobIds.toArray()));
+                return statement;
+            });
+            lastJobId = jobIds.get(jobIds.size() - 1);
+        }
+    }
+
+    /**
+     * Returns whether the partition still holds jobs that are pending or being processed.
+     */
+    public boolean hasOpenJobs(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition
+                + " WHERE status IN ('PENDING', 'PROCESSING'))", Boolean.class));
+    }
+
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/FileUploadPartRepository.java"
+package com.example.nasajonintegration.repository;
+
+import com.example.nasajonintegration.model.FileUploadPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface FileUploadPartRepository extends JpaRepository<FileUploadPart, String> {
+    List<FileUploadPart> findByJobId(String jobId);
+
+    @Transactional
+    void deleteByJobId(String jobId);
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/ImportWatermarkRepository.java"
+package com.example.nasajonintegration.repository;
+
+import com.example.nasajonintegration.model.ImportWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ImportWatermarkRepository extends JpaRepository<ImportWatermark, String> {
+
+    // The mark only moves forward, so a slow job finishing last cannot rewind it
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO import_watermarks (watermark_id, entity_type, source_id, high_water_mark, last_job_id, updated_at) "
+            + "VALUES (:watermarkId, :entityType, :sourceId, :highWaterMark, :jobId, :updatedAt) "
+            + "ON CONFLICT (watermark_id) DO UPDATE SET high_water_mark = EXCLUDED.high_water_mark, "
+            + "last_job_id = EXCLUDED.last_job_id, updated_at = EXCLUDED.updated_at "
+            + "WHERE import_watermarks.high_water_mark < EXCLUDED.high_water_mark", nativeQuery = true)
+    int advance(@Param("watermarkId") String watermarkId, @Param("entityType") String entityType,
+                @Param("sourceId") String sourceId, @Param("highWaterMark") LocalDateTime highWaterMark,
+                @Param("jobId") String jobId, @Param("updatedAt") LocalDateTime updatedAt);
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/ImportRecordHashJdbcRepository.java"
+package com.example.nasajonintegration.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk reads and upserts of {@code import_record_hashes}; one round trip per batch of
+ * records instead of one per record.
+ */
+@Repository
+public class ImportRecordHashJdbcRepository {
+
+    private static final String FIND_SQL =
+            "SELECT hash_id, content_hash FROM import_record_hashes WHERE hash_id = ANY (?)";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO import_record_hashes (hash_id, content_hash, updated_at) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (hash_id) DO UPDATE SET content_hash = EXCLUDED.content_hash, "
+                    + "updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ImportRecordHashJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<String, String> findHashes(Collection<String> hashIds) {
+        Map<String, String> hashes = new HashMap<>();
+        if (hashIds.isEmpty()) {
+            return hashes;
+        }
+        
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", hashIds.toArray()));
+            return statement;
+        }, rs -> {
+            hashes.put(rs.getString("hash_id"), rs.getString("content_hash"));
+        });
+        return hashes;
+    }
+
+    public void upsert(Map<String, String> hashes, LocalDateTime updatedAt) {
+        List<Object[]> rows = hashes.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), updatedAt})
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/ImportedRecordJdbcRepository.java"
+package com.example.nasajonintegration.repository;
+
+import com.example.nasajonintegration.exception.IntegrationException;
+import com.example.nasajonintegration.model.ImportedRecord;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Bulk upserts of {@code imported_records} that bypass the JPA persistence context: either
+ * multi-row upserts of column arrays, or {@code COPY FROM STDIN} into a session-local
+ * staging table followed by one set-based upsert. An existing record is replaced only when
+ * {@code overwrite} is set and left untouched otherwise. Both return the number of rows
+ * actually inserted or replaced.
+ */
+@Repository
+public class ImportedRecordJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO imported_records (record_id, entity_type, source_id, record_key, payload, job_id, imported_at) ";
+
+    private static final String ON_CONFLICT_UPDATE =
+            "ON CONFLICT (record_id) DO UPDATE SET record_key = EXCLUDED.record_key, payload = EXCLUDED.payload, "
+                    + "job_id = EXCLUDED.job_id, imported_at = EXCLUDED.imported_at";
+
+    private static final String ON_CONFLICT_SKIP = "ON CONFLICT (record_id) DO NOTHING";
+
+    // One statement per batch, so its update count is exact where a JDBC batch rewritten
+    // by the driver would only report SUCCESS_NO_INFO
+    private static final String UNNEST_SQL =
+            INSERT_SQL + "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::text[], "
+                    + "?::varchar[], ?::timestamp[]) ";
+
+    private static final String CREATE_STAGE_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS imported_records_stage (ord bigint, record_id varchar(512), "
+                    + "entity_type varchar(255), source_id varchar(255), record_key varchar(255), payload text, "
+                    + "job_id varchar(255), imported_at timestamp)";
+
+    private static final String COPY_SQL = "COPY imported_records_stage FROM STDIN (FORMAT csv)";
+
+    // ON CONFLICT cannot touch a row twice in one statement, so a record repeated within
+    // the batch is reduced to its last occurrence first
+    private static final String MERGE_STAGE_SQL =
+            INSERT_SQL + "SELECT DISTINCT ON (record_id) record_id, entity_type, source_id, record_key, payload, "
+                    + "job_id, imported_at FROM imported_records_stage ORDER BY record_id, ord DESC ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ImportedRecordJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes the records as one multi-row upsert per {@code batchSize} records. Record IDs
+     * must be unique within the list.
+     */
+    public int batchUpsert(List<ImportedRecord> records, boolean overwrite, int batchSize) {
+        String sql = UNNEST_SQL + (overwrite ? ON_CONFLICT_UPDATE : ON_CONFLICT_SKIP);
+        int written = 0;
+        for (int from = 0; from < records.size(); from += batchSize) {
+            List<ImportedRecord> batch = records.subList(from, Math.min(records.size(), from + batchSize));
+            written += jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setArray(1, connection.createArrayOf("varchar", batch.stream().map(ImportedRecord::getRecordId).toArray()));
+                statement.setArray(2, connection.createArrayOf("varchar", batch.stream().map(ImportedRecord::getEntityType).toArray()));
+                statement.setArray(3, connection.createArrayOf("varchar", batch.stream().map(ImportedRecord::getSourceId).toArray()));
+                statement.setArray(4, connection.createArrayOf("varchar", batch.stream().map(ImportedRecord::getRecordKey).toArray()));
+                statement.setArray(5, connection.createArrayOf("text", batch.stream().map(ImportedRecord::getPayload).toArray()));
+                statement.setArray(6, connection.createArrayOf("varchar", batch.stream().map(ImportedRecord::getJobId).toArray()));
+                statement.setArray(7, connection.createArrayOf("timestamp", batch.stream()
+                        .map(record -> record.getImportedAt() != null ? Timestamp.valueOf(record.getImportedAt()) : null)
+                        .toArray()));
+                return statement;
+            });
+        }
+        return written;
+    }
+
+    /**
+     * Streams the records through {@code COPY} and merges them in one statement.
+     */
+    public int copyUpsert(List<ImportedRecord> records, boolean overwrite) {
+        String csv = toCsv(records);
+        Integer written = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // The staging table lives as long as the pooled session and is emptied per batch
+                statement.execute(CREATE_STAGE_SQL);
+                statement.execute("TRUNCATE imported_records_stage");
+            }
+            
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                copyManager.copyIn(COPY_SQL, new StringReader(csv));
+            } catch (IOException e) {
+                throw new IntegrationException("Failed to copy imported records: " + e.getMessage(), e);
+            }
+            
+            try (Statement statement = connection.createStatement()) {
+                return statement.executeUpdate(MERGE_STAGE_SQL + (overwrite ? ON_CONFLICT_UPDATE : ON_CONFLICT_SKIP));
+            }
+        });
+        return written != null ? written : 0;
+    }
+
+    private static String toCsv(List<ImportedRecord> records) {
+        StringBuilder csv = new StringBuilder(records.size() * 256);
+        long ord = 0;
+        for (ImportedRecord record : records) {
+            csv.append(ord++).append(',');
+            appendField(csv, record.getRecordId()).append(',');
+            appendField(csv, record.getEntityType()).append(',');
+            appendField(csv, record.getSourceId()).append(',');
+            appendField(csv, record.getRecordKey()).append(',');
+            appendField(csv, record.getPayload()).append(',');
+            appendField(csv, record.getJobId()).append(',');
+            appendField(csv, record.getImportedAt() != null ? record.getImportedAt().toString() : null).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder csv, String value) {
+        // An unquoted empty field is NULL in COPY's CSV format; everything else is quoted
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return csv;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/event/JobStatusChangedEvent.java"
+package com.example.nasajonintegration.event;
+
+import com.example.nasajonintegration.model.JobStatusView;
+
+public class JobStatusChangedEvent {
+
+    private final JobStatusView view;
+
+    public JobStatusChangedEvent(JobStatusView view) {
+        this.view = view;
+    }
+
+    public JobStatusView getView() {
+        return view;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/parser/RecordReader.java"
+package com.example.nasajonintegration.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Turns an import file into a lazy stream of records. Implementations read incrementally,
+ * so memory use does not depend on file size. Closing the stream closes the input.
+ */
+public interface RecordReader {
+
+    boolean supports(String type);
+
+    Stream<Map<String, Object>> read(InputStream input) throws IOException;
+
+    static Stream<Map<String, Object>> stream(Iterator<Map<String, Object>> records, Closeable resource) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        resource.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/parser/CsvRecordReader.java"
+package com.example.nasajonintegration.parser;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Component
+public class CsvRecordReader implements RecordReader {
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final CsvSchema schema = CsvSchema.emptySchema().withHeader();
+
+    @Override
+    public boolean supports(String type) {
+        return "csv".equalsIgnoreCase(type);
+    }
+
+    @Override
+    public Stream<Map<String, Object>> read(InputStream input) throws IOException {
+        MappingIterator<Map<String, Object>> records = csvMapper.readerFor(RECORD_TYPE).with(schema).readValues(input);
+        return RecordReader.stream(records, records);
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/parser/JsonRecordReader.java"
+package com.example.nasajonintegration.parser;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Reads newline-delimited JSON objects, or the elements of a top-level JSON array,
+ * one record at a time.
+ */
+@Component
+public class JsonRecordReader implements RecordReader {
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+    private static final Set<String> TYPES = Set.of("json", "ndjson", "jsonl");
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public JsonRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return type != null && TYPES.contains(type.toLowerCase());
+    }
+
+    @Override
+    public Stream<Map<String, Object>> read(InputStream input) throws IOException {
+        MappingIterator<Map<String, Object>> records = objectMapper.readerFor(RECORD_TYPE).readValues(input);
+        return RecordReader.stream(records, records);
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/parser/XmlRecordReader.java"
+package com.example.nasajonintegration.parser;
+
+import com.example.nasajonintegration.exception.IntegrationException;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * StAX reader for documents shaped as {@code <root><record><field>value</field>...</record>...</root>}.
+ * Each child of the root element becomes one record; its attributes and child elements become fields.
+ */
+@Component
+public class XmlRecordReader implements RecordReader {
+
+    private final XMLInputFactory inputFactory;
+
+    public XmlRecordReader() {
+        inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public boolean supports(String type) {
+        return "xml".equalsIgnoreCase(type);
+    }
+
+    @Override
+    public Stream<Map<String, Object>> read(InputStream input) throws IOException {
+        XMLStreamReader reader;
+        try {
+            reader = inputFactory.createXMLStreamReader(input);
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed XML: " + e.getMessage(), e);
+        }
+        
+        return RecordReader.stream(new XmlRecordIterator(reader), () -> {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                input.close();
+            }
+        });
+    }
+
+    private static class XmlRecordIterator implements Iterator<Map<String, Object>> {
+
+        private static final int RECORD_DEPTH = 2;
+        private static final int FIELD_DEPTH = 3;
+
+        private final XMLStreamReader reader;
+        private Map<String, Object> next;
+        private boolean finished;
+        private int depth;
+
+        XmlRecordIterator(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                next = advance();
+                finished = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, Object> record = next;
+            next = null;
+            return record;
+        }
+
+        private Map<String, Object> advance() {
+            try {
+                Map<String, Object> record = null;
+                String field = null;
+                StringBuilder text = new StringBuilder();
+                
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth++;
+                        if (depth == RECORD_DEPTH) {
+                            record = new LinkedHashMap<>();
+                            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                                record.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                            }
+                        } else if (depth == FIELD_DEPTH) {
+                            field = reader.getLocalName();
+                            text.setLength(0);
+                        }
+                    } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                        if (depth >= FIELD_DEPTH) {
+                            text.append(reader.getText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        if (depth == FIELD_DEPTH && record != null) {
+                            record.put(field, text.toString().trim());
+                        }
+                        depth--;
+                        if (depth == RECORD_DEPTH - 1 && record != null) {
+                            return record;
+                        }
+                    }
+                }
+                return null;
+            } catch (XMLStreamException e) {
+                throw new IntegrationException("Malformed XML: " + e.getMessage(), e);
+            }
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/parser/RecordReaderRegistry.java"
+package com.example.nasajonintegration.parser;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class RecordReaderRegistry {
+
+    private final List<RecordReader> readers;
+
+    @Autowired
+    public RecordReaderRegistry(List<RecordReader> readers) {
+        this.readers = readers;
+    }
+
+    public Optional<RecordReader> forType(String type) {
+        if (type == null) {
+            return Optional.empty();
+        }
+        return readers.stream()
+                .filter(reader -> reader.supports(type))
+                .findFirst();
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/validation/RecordRule.java"
+package com.example.nasajonintegration.validation;
+
+import com.example.nasajonintegration.exception.IntegrationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * One check applied to every record of an entity type. Failures are reported against
+ * {@code field} and {@code rule}; {@link #RECORD} stands for rules spanning several fields.
+ * Checks run concurrently and must not keep state between records.
+ */
+public record RecordRule(String field, String rule, Predicate<Map<String, Object>> check) {
+
+    public static final String RECORD = "*";
+
+    public static RecordRule required(String field) {
+        return new RecordRule(field, "required", record -> !isBlank(record.get(field)));
+    }
+
+    /**
+     * Values must parse as {@code integer}, {@code number}, {@code boolean}, {@code date}
+     * (ISO-8601) or {@code datetime} (ISO-8601, without offset); {@code string} accepts
+     * anything. Missing values pass, so optional fields only need a type.
+     */
+    public static RecordRule type(String field, String type) {
+        String name = type.trim().toLowerCase();
+        Predicate<String> parses = switch (name) {
+            case "integer" -> value -> parses(() -> Long.parseLong(value));
+            case "number" -> value -> parses(() -> new BigDecimal(value));
+            case "boolean" -> value -> "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value);
+            case "date" -> value -> parses(() -> LocalDate.parse(value));
+            case "datetime" -> value -> parses(() -> LocalDateTime.parse(value));
+            case "string" -> value -> true;
+            default -> throw new IntegrationException("Unknown validation type '" + type + "' for field " + field);
+        };
+        return new RecordRule(field, "type:" + name, record -> {
+            Object value = record.get(field);
+            return isBlank(value) || parses.test(value.toString().trim());
+        });
+    }
+
+    public static RecordRule pattern(String field, String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        return new RecordRule(field, "pattern", record -> {
+            Object value = record.get(field);
+            return isBlank(value) || pattern.matcher(value.toString()).matches();
+        });
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || (value instanceof String text && text.isBlank());
+    }
+
+    private static boolean parses(Runnable parser) {
+        try {
+            parser.run();
+            return true;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return false;
+        }
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/validation/EntityRules.java"
+package com.example.nasajonintegration.validation;
+
+import java.util.List;
+
+/**
+ * Business rules for one or more entity types, checked after the schema rules configured
+ * under {@code integration.validation}. Implementations are picked up as Spring beans.
+ */
+public interface EntityRules {
+
+    boolean supports(String entityType);
+
+    List<RecordRule> rules();
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/validation/ValidationRun.java"
+package com.example.nasajonintegration.validation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * One validation pass over a sequence of record batches. Each batch is validated on the
+ * fork-join pool as soon as it is handed over, split into slices that idle workers steal;
+ * at most {@code maxInFlight} batches are pending, so a busy pool holds back the reader
+ * instead of letting it buffer the whole input. Batches must come from a single thread.
+ */
+public final class ValidationRun {
+
+    // Slices at or below this size are checked directly instead of being split further
+    private static final int TASK_THRESHOLD = 1024;
+
+    private final ForkJoinPool pool;
+    private final List<RecordRule> rules;
+    private final int maxSamples;
+    private final int maxInFlight;
+    private final Deque<ForkJoinTask<Tally>> inFlight = new ArrayDeque<>();
+    private final Tally total;
+    private long records;
+
+    ValidationRun(ForkJoinPool pool, List<RecordRule> rules, int maxSamples, int maxInFlight) {
+        this.pool = pool;
+        this.rules = rules;
+        this.maxSamples = maxSamples;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.total = new Tally();
+    }
+
+    public void accept(List<Map<String, Object>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        inFlight.addLast(pool.submit(new ValidationTask(batch, 0, batch.size(), records)));
+        records += batch.size();
+        
+        // Merged oldest first, so the sampled rows are the first failures in input order
+        while (inFlight.size() > maxInFlight) {
+            total.merge(inFlight.removeFirst().join());
+        }
+    }
+
+    /**
+     * Waits for the pending batches and returns the summary: record counts plus, for every
+     * field and rule that failed, the number of failures and the first failing record
+     * numbers (1-based positions in the input).
+     */
+    public Map<String, Object> finish() {
+        while (!inFlight.isEmpty()) {
+            total.merge(inFlight.removeFirst().join());
+        }
+        
+        List<Map<String, Object>> errors = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            if (total.failures[i] > 0) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("field", rules.get(i).field());
+                error.put("rule", rules.get(i).rule());
+                error.put("count", total.failures[i]);
+                error.put("records", total.samples.get(i));
+                errors.add(error);
+            }
+        }
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("records", records);
+        summary.put("validRecords", records - total.invalid);
+        summary.put("invalidRecords", total.invalid);
+        summary.put("rules", rules.size());
+        summary.put("errors", errors);
+        return summary;
     }
 
-    public void setOverwriteExisting(boolean overwriteExisting) {
-        this.overwriteExisting = overwriteExisting;
-    }
+    private final class Tally {
+        private final long[] failures = new long[rules.size()];
+        private final List<List<Long>> samples = new ArrayList<>(rules.size());
+        private long invalid;
 
-    public boolean isValidateOnly() {
-        return validateOnly;
-    }
+        Tally() {
+            for (int i = 0; i < rules.size(); i++) {
+                samples.add(new ArrayList<>());
+            }
+        }
 
-    public void setValidateOnly(boolean validateOnly) {
-        this.validateOnly = validateOnly;
+        void check(Map<String, Object> record, long recordNumber) {
+            boolean valid = true;
+            for (int i = 0; i < rules.size(); i++) {
+                if (!rules.get(i).check().test(record)) {
+                    valid = false;
+                    if (failures[i]++ < maxSamples) {
+                        samples.get(i).add(recordNumber);
+                    }
+                }
+            }
+            if (!valid) {
+                invalid++;
+            }
+        }
+
+        // Callers merge later records into earlier ones, which keeps the samples in input order
+        Tally merge(Tally later) {
+            for (int i = 0; i < failures.length; i++) {
+                failures[i] += later.failures[i];
+                List<Long> kept = samples.get(i);
+                for (Long recordNumber : later.samples.get(i)) {
+                    if (kept.size() >= maxSamples) {
+                        break;
+                    }
+                    kept.add(recordNumber);
+                }
+            }
+            invalid += later.invalid;
+            return this;
+        }
     }
 
-    @Override
-    public String toString() {
-        return "ImportRequest{" +
-                "entityType='" + entityType + '\'' +
-                ", sourceType='" + sourceType + '\'' +
-                ", sourceId='" + sourceId + '\'' +
-                ", fromDate=" + fromDate +
-                ", toDate=" + toDate +
-                ", filters=" + filters +
-                ", overwriteExisting=" + overwriteExisting +
-                ", validateOnly=" + validateOnly +
-                '}';
+    private final class ValidationTask extends RecursiveTask<Tally> {
+        private final List<Map<String, Object>> batch;
+        private final int from;
+        private final int to;
+        private final long offset;
+
+        ValidationTask(List<Map<String, Object>> batch, int from, int to, long offset) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= TASK_THRESHOLD) {
+                Tally tally = new Tally();
+                for (int i = from; i < to; i++) {
+                    tally.check(batch.get(i), offset + i + 1);
+                }
+                return tally;
+            }
+            
+            int middle = (from + to) >>> 1;
+            ValidationTask first = new ValidationTask(batch, from, middle, offset);
+            first.fork();
+            Tally second = new ValidationTask(batch, middle, to, offset).compute();
+            return first.join().merge(second);
+        }
     }
 }
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/dto/IntegrationResponse.java"
-package com.example.nasajonintegration.dto;
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/validation/RecordValidator.java"
+package com.example.nasajonintegration.validation;
 
-public class IntegrationResponse {
-    private String jobId;
-    private String status;
-    private String message;
-    private String completedAt;
+import com.example.nasajonintegration.config.ValidationConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
 
-    public IntegrationResponse() {
-    }
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Checks records against the schema and business rules of their entity type without
+ * writing anything. Validation runs on a dedicated fork-join pool, separate from the
+ * common pool, so dry runs do not compete with parallel streams elsewhere in the
+ * application.
+ */
+@Component
+public class RecordValidator {
 
-    public IntegrationResponse(String jobId, String status, String message) {
-        this.jobId = jobId;
-        this.status = status;
-        this.message = message;
+    private static final Logger logger = LoggerFactory.getLogger(RecordValidator.class);
+
+    private final ValidationConfig validationConfig;
+    private final ObjectProvider<EntityRules> entityRules;
+    private final ForkJoinPool pool;
+    private final Map<String, List<RecordRule>> rulesByEntityType = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecordValidator(ValidationConfig validationConfig, ObjectProvider<EntityRules> entityRules) {
+        this.validationConfig = validationConfig;
+        this.entityRules = entityRules;
+        this.pool = new ForkJoinPool(validationConfig.getParallelism());
     }
 
-    public IntegrationResponse(String jobId, String status, String message, String completedAt) {
-        this.jobId = jobId;
-        this.status = status;
-        this.message = message;
-        this.completedAt = completedAt;
+    public ValidationRun start(String entityType) {
+        return new ValidationRun(pool, rulesFor(entityType), validationConfig.getMaxSamples(),
+                validationConfig.getParallelism() * 2);
     }
 
-    // Getters and setters
-    public String getJobId() {
-        return jobId;
+    /**
+     * Validates a record stream, handing it to the pool {@code chunk-size} records at a
+     * time, and returns the summary described in {@link ValidationRun#finish()}.
+     */
+    public Map<String, Object> validate(String entityType, Stream<Map<String, Object>> records) {
+        ValidationRun run = start(entityType);
+        int chunkSize = validationConfig.getChunkSize();
+        
+        List<Map<String, Object>> chunk = new ArrayList<>(chunkSize);
+        Iterator<Map<String, Object>> iterator = records.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() >= chunkSize) {
+                run.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        run.accept(chunk);
+        return run.finish();
     }
 
-    public void setJobId(String jobId) {
-        this.jobId = jobId;
+    private List<RecordRule> rulesFor(String entityType) {
+        return rulesByEntityType.computeIfAbsent(entityType != null ? entityType : "", this::buildRules);
     }
 
-    public String getStatus() {
-        return status;
+    private List<RecordRule> buildRules(String entityType) {
+        List<RecordRule> rules = new ArrayList<>();
+        validationConfig.getRequiredFields(entityType).forEach(field -> rules.add(RecordRule.required(field)));
+        validationConfig.getFieldTypes(entityType).forEach((field, type) -> rules.add(RecordRule.type(field, type)));
+        validationConfig.getFieldPatterns(entityType).forEach((field, regex) -> rules.add(RecordRule.pattern(field, regex)));
+        entityRules.orderedStream()
+                .filter(rulesBean -> rulesBean.supports(entityType))
+                .forEach(rulesBean -> rules.addAll(rulesBean.rules()));
+        
+        if (rules.isEmpty()) {
+            logger.warn("No validation rules for entity type '{}'; dry runs only check that records can be read", entityType);
+        }
+        return List.copyOf(rules);
     }
 
-    public void setStatus(String status) {
-        this.status = status;
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
     }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/storage/StagedFile.java"
+package com.example.nasajonintegration.storage;
 
-    public String getMessage() {
-        return message;
+import java.nio.file.Path;
+
+public class StagedFile {
+    private final String key;
+    private final Path path;
+    private final long size;
+
+    public StagedFile(String key, Path path, long size) {
+        this.key = key;
+        this.path = path;
+        this.size = size;
     }
 
-    public void setMessage(String message) {
-        this.message = message;
+    public String getKey() {
+        return key;
     }
 
-    public String getCompletedAt() {
-        return completedAt;
+    public Path getPath() {
+        return path;
     }
 
-    public void setCompletedAt(String completedAt) {
-        this.completedAt = completedAt;
+    public long getSize() {
+        return size;
     }
 }
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/IntegrationJob.java"
-package com.example.nasajonintegration.model;
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/storage/FileStagingStore.java"
+package com.example.nasajonintegration.storage;
 
-import jakarta.persistence.*;
-import java.time.LocalDateTime;
+import com.example.nasajonintegration.config.StagingConfig;
+import com.example.nasajonintegration.exception.IntegrationException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
 
-@Entity
-@Table(name = "integration_jobs")
-public class IntegrationJob {
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Durable local copy of uploaded files. Files are named by their SHA-256 so identical
+ * uploads share one copy, are fsynced before a job is accepted and outlive the HTTP
+ * request, which lets workers (and retries) read them at any time. Unless the directory
+ * is shared by every node ({@code integration.staging.shared}), jobs that read a staged
+ * file record the node that staged it and are only leased by that node.
+ *
+ * <p>The quota is enforced per node: usage starts from the files present at startup and
+ * then follows this node's own uploads and deletions. In a shared directory, changes made
+ * by other nodes are not seen, and only temp files older than a day are cleaned up at
+ * startup, since younger ones may be uploads still in progress on other nodes.
+ */
+@Component
+public class FileStagingStore {
 
-    @Id
-    private String jobId;
-    
-    @Column(nullable = false)
-    private String type;
-    
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
-    private JobStatus status;
-    
-    @Column(columnDefinition = "TEXT")
-    private String requestData;
-    
-    @Column(columnDefinition = "TEXT")
-    private String resultData;
-    
-    @Column(columnDefinition = "TEXT")
-    private String resultMessage;
-    
-    @Column(nullable = false)
-    private LocalDateTime createdAt;
-    
-    private LocalDateTime startedAt;
-    
-    private LocalDateTime completedAt;
+    private static final Logger logger = LoggerFactory.getLogger(FileStagingStore.class);
 
-    // Getters and setters
-    public String getJobId() {
-        return jobId;
-    }
+    private static final String TEMP_PREFIX = "upload-";
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+    // Temp files in a shared directory may belong to another node's upload in progress
+    private static final Duration SHARED_TEMP_MAX_AGE = Duration.ofDays(1);
 
-    public void setJobId(String jobId) {
-        this.jobId = jobId;
-    }
+    private final Path directory;
+    private final long quotaBytes;
+    private final boolean shared;
+    private final String node;
+    private final AtomicLong usedBytes = new AtomicLong();
+    // Makes the existence check and the move or delete of one key atomic, so usedBytes counts each file once
+    private final Object[] keyLocks = new Object[LOCK_STRIPES];
 
-    public String getType() {
-        return type;
+    @Autowired
+    public FileStagingStore(StagingConfig stagingConfig) {
+        this.directory = Paths.get(stagingConfig.getDirectory());
+        this.quotaBytes = stagingConfig.getQuota().toBytes();
+        this.shared = stagingConfig.isShared();
+        this.node = stagingConfig.getNode();
+        for (int i = 0; i < keyLocks.length; i++) {
+            keyLocks[i] = new Object();
+        }
     }
 
-    public void setType(String type) {
-        this.type = type;
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        
+        Instant staleBefore = Instant.now().minus(SHARED_TEMP_MAX_AGE);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                if (file.getFileName().toString().startsWith(TEMP_PREFIX)) {
+                    // Leftover from an upload interrupted by a crash
+                    if (!shared || lastModified(file).isBefore(staleBefore)) {
+                        deleteQuietly(file);
+                    }
+                } else {
+                    usedBytes.addAndGet(sizeOf(file));
+                }
+            });
+        }
+        
+        logger.info("File staging area at {} using {} of {} bytes ({})", directory, usedBytes.get(), quotaBytes,
+                shared ? "shared by all nodes" : "local to node " + node);
     }
 
-    public JobStatus getStatus() {
-        return status;
+    public StagedFile stage(MultipartFile file) {
+        long expectedSize = file.getSize();
+        reserve(expectedSize);
+        
+        Path temp = null;
+        long reserved = expectedSize;
+        try {
+            temp = Files.createTempFile(directory, TEMP_PREFIX, ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            
+            long size = 0;
+            try (ReadableByteChannel in = Channels.newChannel(new DigestInputStream(file.getInputStream(), digest));
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long transferred;
+                while ((transferred = out.transferFrom(in, size, TRANSFER_CHUNK)) > 0) {
+                    size += transferred;
+                }
+                out.force(true);
+            }
+            usedBytes.addAndGet(size - reserved);
+            reserved = size;
+            
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = directory.resolve(key);
+            synchronized (lockFor(key)) {
+                if (Files.exists(target)) {
+                    // Same content is already staged, keep a single copy and restart its retention clock
+                    Files.deleteIfExists(temp);
+                    usedBytes.addAndGet(-size);
+                    reserved = 0;
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                } else {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    syncDirectory();
+                }
+            }
+            
+            logger.debug("Staged file {} as {} ({} bytes)", file.getOriginalFilename(), key, size);
+            return new StagedFile(key, target, size);
+            
+        } catch (IOException | NoSuchAlgorithmException e) {
+            usedBytes.addAndGet(-reserved);
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            throw new IntegrationException("Failed to stage uploaded file: " + e.getMessage(), e);
+        }
     }
 
-    public void setStatus(JobStatus status) {
-        this.status = status;
+    public boolean contains(String key) {
+        return KEY_PATTERN.matcher(key).matches() && Files.exists(directory.resolve(key));
     }
 
-    public String getRequestData() {
-        return requestData;
+    /**
+     * The node to record on jobs that read files staged here, or null when every node
+     * sees the same staging directory.
+     */
+    public String ownerNode() {
+        return shared ? null : node;
     }
 
-    public void setRequestData(String requestData) {
-        this.requestData = requestData;
+    /**
+     * Whether files staged by {@code stagingNode} can be read on this node.
+     */
+    public boolean isReadable(String stagingNode) {
+        return stagingNode == null || stagingNode.equals(node);
     }
 
-    public String getResultData() {
-        return resultData;
+    public Path resolve(String key) {
+        if (!contains(key)) {
+            throw new IntegrationException("Staged file not found: " + key);
+        }
+        return directory.resolve(key);
     }
 
-    public void setResultData(String resultData) {
-        this.resultData = resultData;
+    public Resource resource(String key) {
+        return new FileSystemResource(resolve(key));
     }
 
-    public String getResultMessage() {
-        return resultMessage;
+    /**
+     * Deletes the staged file unless it was staged or reused by an identical upload since
+     * {@code cutoff}, and returns whether it was deleted. The age is checked under the key's
+     * lock, so an upload that de-duplicates onto the file keeps it.
+     */
+    public boolean release(String key, Instant cutoff) {
+        if (!contains(key)) {
+            return false;
+        }
+        
+        Path file = directory.resolve(key);
+        synchronized (lockFor(key)) {
+            if (!lastModified(file).isBefore(cutoff)) {
+                return false;
+            }
+            long size = sizeOf(file);
+            try {
+                if (Files.deleteIfExists(file)) {
+                    usedBytes.addAndGet(-size);
+                    logger.debug("Released staged file: {}", key);
+                    return true;
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to release staged file: {}", key, e);
+            }
+            return false;
+        }
     }
 
-    public void setResultMessage(String resultMessage) {
-        this.resultMessage = resultMessage;
+    public List<String> stagedBefore(Instant cutoff) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> KEY_PATTERN.matcher(file.getFileName().toString()).matches())
+                    .filter(file -> lastModified(file).isBefore(cutoff))
+                    .map(file -> file.getFileName().toString())
+                    .toList();
+        } catch (IOException e) {
+            throw new IntegrationException("Failed to list staged files: " + e.getMessage(), e);
+        }
     }
 
-    public LocalDateTime getCreatedAt() {
-        return createdAt;
+    public long getUsedBytes() {
+        return usedBytes.get();
     }
 
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+    private Object lockFor(String key) {
+        return keyLocks[Math.floorMod(key.hashCode(), keyLocks.length)];
     }
 
-    public LocalDateTime getStartedAt() {
-        return startedAt;
+    private void reserve(long size) {
+        long current;
+        do {
+            current = usedBytes.get();
+            if (current + size > quotaBytes) {
+                throw new IntegrationException("File staging quota exceeded, please retry later");
+            }
+        } while (!usedBytes.compareAndSet(current, current + size));
     }
 
-    public void setStartedAt(LocalDateTime startedAt) {
-        this.startedAt = startedAt;
+    private void syncDirectory() {
+        // Makes the rename itself durable; not supported on every platform, hence best effort
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            logger.debug("Could not fsync staging directory: {}", e.getMessage());
+        }
     }
 
-    public LocalDateTime getCompletedAt() {
-        return completedAt;
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
     }
 
-    public void setCompletedAt(LocalDateTime completedAt) {
-        this.completedAt = completedAt;
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.now();
+        }
     }
-}
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/model/JobStatus.java"
-package com.example.nasajonintegration.model;
-
-public enum JobStatus {
-    PENDING,
-    PROCESSING,
-    COMPLETED,
-    FAILED,
-    CANCELLED
-}
-[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/repository/IntegrationJobRepository.java"
-package com.example.nasajonintegration.repository;
-
-import com.example.nasajonintegration.model.IntegrationJob;
-import com.example.nasajonintegration.model.JobStatus;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.time.LocalDateTime;
-import java.util.List;
 
-@Repository
-public interface IntegrationJobRepository extends JpaRepository<IntegrationJob, String> {
-    List<IntegrationJob> findByStatus(JobStatus status);
-    List<IntegrationJob> findByTypeAndStatus(String type, JobStatus status);
-    List<IntegrationJob> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete staging file: {}", file, e);
+        }
+    }
 }
 [V0_FILE]java:file="src/main/java/com/example/nasajonintegration/exception/IntegrationException.java"
 package com.example.nasajonintegration.exception;
@@ -924,11 +7638,58 @@ public class IntegrationException extends RuntimeException {
         super(message, cause);
     }
 }
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/exception/BackpressureException.java"
+package com.example.nasajonintegration.exception;
+
+import java.time.Duration;
+
+public class BackpressureException extends IntegrationException {
+
+    private final Duration retryAfter;
+
+    public BackpressureException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/exception/CircuitOpenException.java"
+package com.example.nasajonintegration.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling Nasajon while the endpoint's circuit breaker is open.
+ * {@link #getRetryAfter()} is the time left until a trial call is allowed.
+ */
+public class CircuitOpenException extends BackpressureException {
+
+    public CircuitOpenException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
+[V0_FILE]java:file="src/main/java/com/example/nasajonintegration/exception/UploadExpiredException.java"
+package com.example.nasajonintegration.exception;
+
+/**
+ * Thrown when Nasajon no longer knows a chunked upload, because it expired or was
+ * discarded upstream. The upload cannot be resumed and has to be started again.
+ */
+public class UploadExpiredException extends IntegrationException {
+
+    public UploadExpiredException(String message) {
+        super(message);
+    }
+}
 [V0_FILE]java:file="src/main/java/com/example/nasajonintegration/exception/GlobalExceptionHandler.java"
 package com.example.nasajonintegration.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -953,6 +7714,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(BackpressureException.class)
+    public ResponseEntity<Map<String, String>> handleBackpressureException(BackpressureException ex) {
+        logger.warn("Request rejected by backpressure: {}", ex.getMessage());
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<Map<String, String>> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
         logger.error("File size limit exceeded: {}", ex.getMessage());
@@ -981,7 +7754,8 @@ server:
 
 spring:
   datasource:
-    url: jdbc:postgresql://localhost:5432/nasajon_integration
+    # reWriteBatchedInserts lets the driver send JDBC insert batches as multi-row statements
+    url: jdbc:postgresql://localhost:5432/nasajon_integration?reWriteBatchedInserts=true
     username: postgres
     password: postgres
     driver-class-name: org.postgresql.Driver
@@ -993,17 +7767,170 @@ spring:
         dialect: org.hibernate.dialect.PostgreSQLDialect
         format_sql: true
     show-sql: false
+  task:
+    scheduling:
+      pool:
+        # Keeps the journal flush from queueing behind long maintenance tasks
+        size: 4
   servlet:
     multipart:
-      max-file-size: 10MB
-      max-request-size: 10MB
+      # Uploads are always spooled to disk and streamed upstream, so heap use does not grow with file size
+      file-size-threshold: 0
+      max-file-size: 4GB
+      max-request-size: 4GB
 
 nasajon:
   api:
     base-url: https://api.nasajon.com/v1
     api-key: ${NASAJON_API_KEY}
     client-id: ${NASAJON_CLIENT_ID}
+    client: blocking
     timeout: 30000
+    connect-timeout: 5000
+    read-timeout: 30000
+    pool:
+      acquire-timeout: 2000
+      max-total: 100
+      max-per-route: 20
+      idle-eviction: 30000
+      time-to-live: 300000
+    concurrency:
+      # Upper bounds of the adaptive per-endpoint limits; see EndpointConcurrencyLimiter
+      export: 20
+      import: 20
+      file-import: 5
+      min-limit: 1
+      backoff-ratio: 0.9
+      # Latency above this multiple of the observed baseline counts as overload
+      latency-tolerance: 2.0
+    retry:
+      # Full-jitter exponential backoff, honouring Retry-After. Part uploads and page reads are retried on 429, 5xx
+      # and I/O errors; export, import and upload POSTs only on 429, 503 and failures to connect, so they never run twice
+      # Every call earns budget-ratio of a retry (up to budget-max), so retries stay a fraction of traffic
+      export:
+        max-attempts: 3
+      import:
+        max-attempts: 3
+      file-import:
+        max-attempts: 2
+      base-delay: 200ms
+      max-delay: 5s
+      budget-ratio: 0.2
+      budget-max: 20
+    circuit-breaker:
+      # Calls that still fail after retries open the circuit; jobs hitting an open circuit are
+      # requeued for when it half-opens, up to max-job-deferrals times before they fail
+      failure-threshold: 5
+      open-duration: 30s
+      max-job-deferrals: 10
+
+integration:
+  journal:
+    # Job transitions are coalesced and flushed in JDBC batches; see JobStatusJournal for crash semantics
+    enabled: true
+    flush-interval: 200
+    batch-size: 500
+  status-cache:
+    # Entries are refreshed on every local transition; the TTL bounds staleness for changes made elsewhere
+    max-size: 100000
+    ttl: 30s
+  retention:
+    days: 30
+    # Old jobs are deleted chunk-size rows per transaction with chunk-pause in between
+    chunk-size: 5000
+    chunk-pause: 200ms
+    # Set after running db/partition-integration-jobs.sql to drop whole monthly partitions instead
+    partitioned: false
+    partitions-ahead: 2
+  import:
+    # Incremental imports start this long before the stored watermark; re-read records are dropped by change hashing
+    watermark-overlap: 5m
+    # Field that identifies a record across imports for change detection and in the local store
+    record-id-field: id
+    streaming:
+      # Requires the paged Nasajon records endpoint (POST /import/records?pageSize=&cursor=, answering
+      # {"records": [...], "nextCursor": ...}); each page is read in full, then written batch-size at a time
+      enabled: false
+      page-size: 1000
+      batch-size: 500
+    writer:
+      # batch: one multi-row upsert of batch-size records per round trip; copy: COPY FROM STDIN into a
+      # staging table and one upsert per streamed batch. Existing records are replaced only with overwriteExisting
+      mode: batch
+      batch-size: 500
+  validation:
+    # Dry runs (validateOnly) check records locally on a fork-join pool of parallelism threads (0: one per core),
+    # chunk-size records at a time, and report failures per field and rule with the first max-samples record numbers.
+    # Schemas per entity type, e.g. required: "{CUSTOMER: 'id,name'}", types: "{CUSTOMER: 'id:integer,birthDate:date'}",
+    # patterns: "{'CUSTOMER.email': '[^@]+@[^@]+'}"; business rules are EntityRules beans
+    parallelism: 0
+    chunk-size: 10000
+    max-samples: 5
+  idempotency:
+    # Export and import submissions matching a job that is running, or completed within the window, return that job
+    window: 10m
+    sweep-interval: 60000
+  queue:
+    # Nodes lease PENDING jobs as the scheduler has room; leases not renewed by the heartbeat expire after lease-duration
+    poll-interval: 1000
+    lease-duration: 2m
+    # New jobs are rejected with 429 and Retry-After while this many jobs are waiting
+    max-pending: 10000
+    retry-after: 30s
+  scheduler:
+    # Per-class worker caps, plus how many leased jobs each class may hold locally for fair ordering.
+    # Optional weights per entity type, e.g. weights: "{CUSTOMER: 3, PRODUCT: 1}" (default 1)
+    interactive:
+      max-concurrency: 8
+      queue-depth: 8
+    bulk:
+      max-concurrency: 2
+      queue-depth: 2
+  heartbeat:
+    # Running jobs refresh heartbeat_at every interval; PROCESSING jobs silent for longer than timeout are failed
+    interval: 30000
+    timeout: 5m
+    check-interval: 60000
+  status-stream:
+    # Long polls return the current state after this long even if nothing changed
+    long-poll-timeout: 30s
+    sse-timeout: 30m
+    max-jobs-per-stream: 100
+    # Threads writing events to streams; virtual threads when integration.worker.mode is virtual
+    send-threads: 4
+  staging:
+    # Jobs reading a staged file are leased only by the node that staged it (identified by node, default the
+    # host name) unless shared is set because every node mounts the same directory
+    directory: ${java.io.tmpdir}/nasajon-staging
+    shared: false
+    # Enforced per node; with a shared directory other nodes' uploads are not counted
+    quota: 50GB
+    retention-days: 7
+  export:
+    # entityIds lists larger than batch-size are split and sent max-in-flight batches at a time
+    batch-size: 1000
+    max-in-flight: 4
+    # Identical /export calls share one round trip while in flight. A result-ttl above 0 also reuses
+    # successful results for that long, so repeated identical exports are not sent again
+    coalesce: true
+    result-ttl: 0s
+    result-cache-size: 10000
+  file-upload:
+    chunked:
+      # Requires the Nasajon multipart-upload endpoints; files below the threshold use a single POST
+      enabled: false
+      threshold: 64MB
+      part-size: 8MB
+      # Parts in flight across all chunked uploads of this node
+      parallelism: 4
+    # Parse the staged file once before uploading it, to reject malformed files locally and record the count
+    pre-scan: false
+  worker:
+    # platform: bounded ThreadPoolTaskExecutor; virtual: one virtual thread per job
+    mode: platform
+    core-pool-size: 5
+    max-pool-size: 10
+    queue-capacity: 25
 
 logging:
   level:
@@ -1018,18 +7945,82 @@ springdoc:
   swagger-ui:
     path: /swagger-ui.html
     operations-sorter: method
+[V0_FILE]java:file="src/main/resources/db/migrate-job-payloads.sql"
+-- One-off migration for databases created before job payloads moved out of integration_jobs.
+-- Run after the application has started once, so that ddl-auto has created integration_job_payloads.
+BEGIN;
+
+INSERT INTO integration_job_payloads (job_id, request_data, result_data)
+SELECT job_id, request_data, result_data
+FROM integration_jobs
+ON CONFLICT (job_id) DO NOTHING;
+
+ALTER TABLE integration_jobs DROP COLUMN IF EXISTS request_data;
+ALTER TABLE integration_jobs DROP COLUMN IF EXISTS result_data;
+
+COMMIT;
+[V0_FILE]java:file="src/main/resources/db/partition-integration-jobs.sql"
+-- Optional: converts integration_jobs into a table range-partitioned by created_at month so
+-- retention can drop whole partitions (integration.retention.partitioned=true).
+-- Run during a maintenance window with the application stopped, and switch
+-- spring.jpa.hibernate.ddl-auto to validate or none afterwards.
+-- Partitions must be named integration_jobs_yYYYYmMM; the application creates upcoming months itself.
+BEGIN;
+
+ALTER TABLE integration_jobs RENAME TO integration_jobs_legacy;
+
+-- The partition key has to be part of the primary key; job IDs are random UUIDs, so job_id stays unique in practice
+CREATE TABLE integration_jobs (
+    LIKE integration_jobs_legacy INCLUDING DEFAULTS,
+    PRIMARY KEY (job_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_integration_jobs_status_heartbeat ON integration_jobs (status, heartbeat_at);
+CREATE INDEX idx_integration_jobs_status_created_at ON integration_jobs (status, created_at);
+-- A unique index here would have to include created_at, so duplicate submissions racing on
+-- different nodes are no longer rejected by the database; the in-process index still applies
+CREATE INDEX idx_integration_jobs_idempotency_key ON integration_jobs (idempotency_key);
+
+CREATE TABLE integration_jobs_default PARTITION OF integration_jobs DEFAULT;
+
+DO $$
+DECLARE
+    month date := date_trunc('month', (SELECT coalesce(min(created_at), now()) FROM integration_jobs_legacy));
+BEGIN
+    WHILE month <= date_trunc('month', now()) + interval '2 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF integration_jobs FOR VALUES FROM (%L) TO (%L)',
+                       'integration_jobs_y' || to_char(month, 'YYYY') || 'm' || to_char(month, 'MM'),
+                       month, month + interval '1 month');
+        month := month + interval '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO integration_jobs SELECT * FROM integration_jobs_legacy;
+
+DROP TABLE integration_jobs_legacy;
+
+COMMIT;
 [V0_FILE]java:file="src/main/java/com/example/nasajonintegration/scheduler/IntegrationJobScheduler.java"
 package com.example.nasajonintegration.scheduler;
 
-import com.example.nasajonintegration.model.IntegrationJob;
+import com.example.nasajonintegration.config.HeartbeatConfig;
+import com.example.nasajonintegration.config.StagingConfig;
+import com.example.nasajonintegration.event.JobStatusChangedEvent;
 import com.example.nasajonintegration.model.JobStatus;
+import com.example.nasajonintegration.model.JobStatusView;
+import com.example.nasajonintegration.repository.IntegrationJobJdbcRepository;
 import com.example.nasajonintegration.repository.IntegrationJobRepository;
+import com.example.nasajonintegration.service.JobRetentionService;
+import com.example.nasajonintegration.storage.FileStagingStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -1039,29 +8030,40 @@ public class IntegrationJobScheduler {
     private static final Logger logger = LoggerFactory.getLogger(IntegrationJobScheduler.class);
 
     private final IntegrationJobRepository jobRepository;
+    private final IntegrationJobJdbcRepository jdbcRepository;
+    private final JobRetentionService retentionService;
+    private final FileStagingStore stagingStore;
+    private final StagingConfig stagingConfig;
+    private final HeartbeatConfig heartbeatConfig;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public IntegrationJobScheduler(IntegrationJobRepository jobRepository) {
+    public IntegrationJobScheduler(IntegrationJobRepository jobRepository, IntegrationJobJdbcRepository jdbcRepository,
+                                   JobRetentionService retentionService, FileStagingStore stagingStore,
+                                   StagingConfig stagingConfig, HeartbeatConfig heartbeatConfig,
+                                   ApplicationEventPublisher eventPublisher) {
         this.jobRepository = jobRepository;
+        this.jdbcRepository = jdbcRepository;
+        this.retentionService = retentionService;
+        this.stagingStore = stagingStore;
+        this.stagingConfig = stagingConfig;
+        this.heartbeatConfig = heartbeatConfig;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Scheduled(fixedRate = 300000) // Run every 5 minutes
+    @Scheduled(fixedDelayString = "${integration.heartbeat.check-interval:60000}")
     public void cleanupStuckJobs() {
-        logger.info("Running job cleanup task");
+        logger.debug("Running job cleanup task");
         
-        // Find jobs that have been in PROCESSING state for more than 1 hour
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
+        // Running jobs refresh their heartbeat regularly; one that stopped beating lost its worker
+        LocalDateTime cutoff = LocalDateTime.now().minus(heartbeatConfig.getTimeout());
         
-        List<IntegrationJob> stuckJobs = jobRepository.findByStatus(JobStatus.PROCESSING);
+        List<JobStatusView> stuckJobs = jdbcRepository.failStaleJobs(cutoff,
+                "Job failed after its worker stopped sending heartbeats", LocalDateTime.now());
         
-        for (IntegrationJob job : stuckJobs) {
-            if (job.getStartedAt() != null && job.getStartedAt().isBefore(oneHourAgo)) {
-                logger.warn("Found stuck job: {}, marking as FAILED", job.getJobId());
-                job.setStatus(JobStatus.FAILED);
-                job.setResultMessage("Job timed out after processing for more than 1 hour");
-                job.setCompletedAt(LocalDateTime.now());
-                jobRepository.save(job);
-            }
+        for (JobStatusView job : stuckJobs) {
+            logger.warn("Found stuck job: {}, marked as FAILED", job.getJobId());
+            eventPublisher.publishEvent(new JobStatusChangedEvent(job));
         }
     }
 
@@ -1069,19 +8071,24 @@ public class IntegrationJobScheduler {
     public void purgeOldJobs() {
         logger.info("Running job purge task");
         
-        // Find completed jobs older than 30 days
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        
-        List<IntegrationJob> oldJobs = jobRepository.findByCreatedAtBetween(
-                LocalDateTime.MIN, 
-                thirtyDaysAgo
-        );
+        retentionService.purge();
+    }
+
+    @Scheduled(cron = "0 30 0 * * *") // Run at half past midnight every day
+    public void purgeStagedFiles() {
+        logger.info("Running staged file purge task");
         
-        oldJobs.removeIf(job -> job.getStatus() != JobStatus.COMPLETED && job.getStatus() != JobStatus.FAILED);
+        // Staged files are kept after completion so identical uploads and retries can reuse them;
+        // expire the ones that no pending or running job still needs
+        Instant cutoff = Instant.now().minus(Duration.ofDays(stagingConfig.getRetentionDays()));
+        List<JobStatus> activeStatuses = List.of(JobStatus.PENDING, JobStatus.PROCESSING);
         
-        if (!oldJobs.isEmpty()) {
-            logger.info("Purging {} old jobs", oldJobs.size());
-            jobRepository.deleteAll(oldJobs);
+        for (String key : stagingStore.stagedBefore(cutoff)) {
+            // An identical upload staged after this check refreshes the file, which release re-checks
+            if (!jobRepository.existsByStagingKeyAndStatusIn(key, activeStatuses)
+                    && stagingStore.release(key, cutoff)) {
+                logger.info("Purged staged file: {}", key);
+            }
         }
     }
 }
\ No newline at end of file